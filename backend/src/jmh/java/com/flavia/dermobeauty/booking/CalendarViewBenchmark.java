@@ -0,0 +1,133 @@
+package com.flavia.dermobeauty.booking;
+
+import com.flavia.dermobeauty.DermobeautyApplication;
+import com.flavia.dermobeauty.booking.application.usecase.GetCalendarEventsUseCase;
+import com.flavia.dermobeauty.booking.domain.Block;
+import com.flavia.dermobeauty.booking.domain.BlockRepository;
+import com.flavia.dermobeauty.booking.domain.Booking;
+import com.flavia.dermobeauty.booking.domain.BookingRepository;
+import com.flavia.dermobeauty.booking.web.dto.CalendarEventResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calendar month and year views: JPQL projection vs the entity path it replaced.
+ *
+ * The entity path is the body of GetCalendarEventsUseCase before the
+ * projection (BookingEntity/BlockEntity rows mapped to aggregates, then
+ * copied into CalendarEventResponse), kept here as the baseline. Both read
+ * the agenda seeded by infra/bench/calendar-views/setup.sql in 2099 from a
+ * real database, so the numbers include the queries. Setup checks that both
+ * return the same events.
+ *
+ * Run with infra/bench/calendar-views/run.sh; -prof gc reports allocation per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalendarViewBenchmark {
+
+    private static final ZoneId ARGENTINA_ZONE = ZoneId.of("America/Argentina/Buenos_Aires");
+
+    @Param({"month", "year"})
+    private String view;
+
+    private ConfigurableApplicationContext context;
+    private GetCalendarEventsUseCase getCalendarEventsUseCase;
+    private BookingRepository bookingRepository;
+    private BlockRepository blockRepository;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+
+    @Setup
+    public void setUp() {
+        // Same configuration as the app (datasource from SPRING_DATASOURCE_*), without
+        // the web server and the per-query logging of the dev profile
+        context = new SpringApplicationBuilder(DermobeautyApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .properties(
+                        "spring.jpa.show-sql=false",
+                        "logging.level.com.flavia.dermobeauty=WARN",
+                        "logging.level.org.hibernate.SQL=WARN")
+                .run();
+        getCalendarEventsUseCase = context.getBean(GetCalendarEventsUseCase.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+        blockRepository = context.getBean(BlockRepository.class);
+
+        fromDate = LocalDate.of(2099, 3, 1);
+        toDate = "year".equals(view) ? fromDate.plusYears(1).minusDays(1) : fromDate.plusMonths(1).minusDays(1);
+
+        List<String> projected = keys(projection());
+        if (projected.isEmpty()) {
+            throw new IllegalStateException("No events from " + fromDate + " to " + toDate + "; run setup.sql first");
+        }
+        if (!projected.equals(keys(entities()))) {
+            throw new IllegalStateException("Projection and entity path disagree for the " + view + " view");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CalendarEventResponse> projection() {
+        return getCalendarEventsUseCase.execute(fromDate, toDate, false);
+    }
+
+    @Benchmark
+    public List<CalendarEventResponse> entities() {
+        OffsetDateTime from = fromDate.atStartOfDay(ARGENTINA_ZONE).toOffsetDateTime();
+        OffsetDateTime to = toDate.atTime(LocalTime.MAX).atZone(ARGENTINA_ZONE).toOffsetDateTime();
+
+        List<Booking> bookings = bookingRepository.findByDateRange(from, to, false);
+        List<Block> blocks = blockRepository.findByDateRange(from, to, false);
+
+        List<CalendarEventResponse> events = new ArrayList<>();
+        for (Booking booking : bookings) {
+            events.add(CalendarEventResponse.fromBooking(booking));
+        }
+        for (Block block : blocks) {
+            events.add(CalendarEventResponse.fromBlock(block));
+        }
+
+        events.sort(Comparator.comparing(CalendarEventResponse::getStartAt));
+        return events;
+    }
+
+    private static List<String> keys(List<CalendarEventResponse> events) {
+        return events.stream()
+                .map(event -> event.getType() + "-" + event.getId() + "@" + event.getStartAt().toInstant()
+                        + "/" + event.getEndAt().toInstant() + " " + event.getStatus())
+                .sorted()
+                .toList();
+    }
+}
@@ -0,0 +1,144 @@
+package com.flavia.dermobeauty.booking.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Available slots for 30 days: occupancy bitmap vs the per-slot overlap loop it replaced.
+ *
+ * The loop is the body of GetAvailableSlotsUseCase before the bitmap, kept
+ * here as the baseline. Both run on the same in-memory events, so the
+ * numbers are the slot computation alone (no queries). Setup checks that
+ * both return the same slots, including for hours that are off the
+ * 30-minute grid.
+ *
+ * Run with infra/bench/availability/run.sh; -prof gc reports allocation per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DayOccupancyBenchmark {
+
+    private static final ZoneId ARGENTINA_ZONE = ZoneId.of("America/Argentina/Buenos_Aires");
+    private static final int DAYS = 30;
+
+    @Param({"0", "6", "16"})
+    private int eventsPerDay;
+
+    @Param({"30", "90"})
+    private int durationMinutes;
+
+    @Param({"09:00-19:00", "09:15-18:45"})
+    private String hours;
+
+    private LocalDate firstDay;
+    private LocalTime openTime;
+    private LocalTime closeTime;
+    private List<List<Interval>> eventsByDay;
+
+    private record Interval(OffsetDateTime startAt, OffsetDateTime endAt) {
+    }
+
+    @Setup
+    public void setUp() {
+        firstDay = LocalDate.of(2099, 1, 1);
+        openTime = LocalTime.parse(hours.substring(0, 5));
+        closeTime = LocalTime.parse(hours.substring(6));
+
+        // Fixed seed: every run and both implementations see the same agenda
+        Random random = new Random(42);
+        int slotsInDay = (int) (Duration.between(openTime, closeTime).toMinutes() / 30);
+        eventsByDay = new ArrayList<>(DAYS);
+        for (int day = 0; day < DAYS; day++) {
+            LocalDate date = firstDay.plusDays(day);
+            List<Interval> events = new ArrayList<>(eventsPerDay);
+            for (int i = 0; i < eventsPerDay; i++) {
+                OffsetDateTime start = date.atTime(openTime).atZone(ARGENTINA_ZONE).toOffsetDateTime()
+                        .plusMinutes(30L * random.nextInt(slotsInDay));
+                events.add(new Interval(start, start.plusMinutes(30L * (1 + random.nextInt(3)))));
+            }
+            eventsByDay.add(events);
+        }
+
+        if (!bitmap().equals(loop())) {
+            throw new IllegalStateException("Bitmap and loop disagree for " + hours + ", " + durationMinutes + " min");
+        }
+    }
+
+    @Benchmark
+    public List<List<LocalTime>> bitmap() {
+        int slotCount = DayOccupancy.slotsFor(durationMinutes);
+        List<List<LocalTime>> result = new ArrayList<>(DAYS);
+        for (int day = 0; day < DAYS; day++) {
+            DayOccupancy occupancy = DayOccupancy.of(firstDay.plusDays(day), ARGENTINA_ZONE, openTime, closeTime);
+            for (Interval event : eventsByDay.get(day)) {
+                occupancy.occupy(event.startAt(), event.endAt());
+            }
+            result.add(occupancy.isFullyOccupied() ? List.of() : occupancy.availableSlots(slotCount));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<List<LocalTime>> loop() {
+        List<List<LocalTime>> result = new ArrayList<>(DAYS);
+        for (int day = 0; day < DAYS; day++) {
+            result.add(loopDay(firstDay.plusDays(day), eventsByDay.get(day)));
+        }
+        return result;
+    }
+
+    private List<LocalTime> loopDay(LocalDate date, List<Interval> events) {
+        List<LocalTime> availableSlots = new ArrayList<>();
+        LocalTime currentSlot = openTime;
+
+        while (canServiceFit(currentSlot, durationMinutes, closeTime)) {
+            OffsetDateTime slotStart = date.atTime(currentSlot).atZone(ARGENTINA_ZONE).toOffsetDateTime();
+            OffsetDateTime slotEnd = slotStart.plusMinutes(durationMinutes);
+
+            if (isSlotFree(slotStart, slotEnd, events)) {
+                availableSlots.add(currentSlot);
+            }
+
+            currentSlot = currentSlot.plusMinutes(30);
+        }
+        return availableSlots;
+    }
+
+    private static boolean canServiceFit(LocalTime start, int duration, LocalTime closeTime) {
+        LocalTime end = start.plusMinutes(duration);
+        if (end.isBefore(start)) return false;
+        return !end.isAfter(closeTime);
+    }
+
+    private static boolean isSlotFree(OffsetDateTime slotStart, OffsetDateTime slotEnd, List<Interval> events) {
+        for (Interval event : events) {
+            if (slotStart.isBefore(event.endAt()) && slotEnd.isAfter(event.startAt())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,15 @@
+package com.flavia.dermobeauty.booking.application.port;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Port (interface) for announcing agenda changes.
+ * Use cases call it after persisting a change that frees or occupies time.
+ */
+public interface AgendaEventPublisher {
+
+    /**
+     * Announce that occupancy of [startAt, endAt) has changed.
+     */
+    void agendaChanged(OffsetDateTime startAt, OffsetDateTime endAt);
+}
@@ -0,0 +1,22 @@
+package com.flavia.dermobeauty.booking.application.port;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Port (interface) for caching computed availability per (date, duration).
+ *
+ * Callers read {@link #version()} before loading data and pass it back to
+ * {@link #put}; entries computed while an invalidation happened are discarded
+ * so a slow read can never re-insert stale slots.
+ */
+public interface AvailabilityCache {
+
+    Optional<List<LocalTime>> get(LocalDate date, int durationMinutes);
+
+    long version();
+
+    void put(LocalDate date, int durationMinutes, List<LocalTime> slots, long version);
+}
@@ -0,0 +1,20 @@
+package com.flavia.dermobeauty.booking.application.port;
+
+import com.flavia.dermobeauty.booking.domain.Booking;
+
+/**
+ * Port (interface) for keeping the sales report rollups up to date.
+ * Must be called in the transaction that changes the booking.
+ */
+public interface BookingReportRecorder {
+
+    /**
+     * Count a paid booking.
+     */
+    void bookingPaid(Booking booking);
+
+    /**
+     * Stop counting a booking that was paid and is now cancelled.
+     */
+    void bookingCancelled(Booking booking);
+}
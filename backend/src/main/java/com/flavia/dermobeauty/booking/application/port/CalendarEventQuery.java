@@ -0,0 +1,48 @@
+package com.flavia.dermobeauty.booking.application.port;
+
+import com.flavia.dermobeauty.booking.web.dto.CalendarEventResponse;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Port (interface) for the calendar read model.
+ * Events are projected straight from the tables, without loading aggregates.
+ * Range methods return events ordered by start time; change methods
+ * return them ordered by writing transaction, then change sequence.
+ */
+public interface CalendarEventQuery {
+
+    List<CalendarEventResponse> findBookingEvents(OffsetDateTime from, OffsetDateTime to, boolean includeCancelled);
+
+    List<CalendarEventResponse> findBlockEvents(OffsetDateTime from, OffsetDateTime to, boolean includeCancelled);
+
+    /**
+     * Cursor variant of {@link #findBookingEvents}. Must be consumed and closed inside a transaction.
+     */
+    Stream<CalendarEventResponse> streamBookingEvents(OffsetDateTime from, OffsetDateTime to, boolean includeCancelled);
+
+    /**
+     * Cursor variant of {@link #findBlockEvents}. Must be consumed and closed inside a transaction.
+     */
+    Stream<CalendarEventResponse> streamBlockEvents(OffsetDateTime from, OffsetDateTime to, boolean includeCancelled);
+
+    /**
+     * Bookings inserted or updated by transactions with ids in [{@code fromXid}, {@code toXid}),
+     * at most {@code limit} of them.
+     */
+    List<CalendarEventResponse> findBookingChanges(long fromXid, long toXid, int limit);
+
+    /**
+     * Blocks inserted or updated by transactions with ids in [{@code fromXid}, {@code toXid}),
+     * at most {@code limit} of them.
+     */
+    List<CalendarEventResponse> findBlockChanges(long fromXid, long toXid, int limit);
+
+    /**
+     * Oldest transaction id still in flight: rows written below it are final,
+     * and every later commit is written at or above it.
+     */
+    long changeHorizon();
+}
@@ -1,5 +1,6 @@
 package com.flavia.dermobeauty.booking.application.usecase;
 
+import com.flavia.dermobeauty.booking.application.port.AgendaEventPublisher;
 import com.flavia.dermobeauty.booking.domain.Block;
 import com.flavia.dermobeauty.booking.domain.BlockRepository;
 import com.flavia.dermobeauty.shared.exception.ResourceNotFoundException;
@@ -16,6 +17,7 @@ import lombok.extern.slf4j.Slf4j;
 public class CancelBlockUseCase {
 
     private final BlockRepository blockRepository;
+    private final AgendaEventPublisher agendaEventPublisher;
 
     /**
      * Cancels a block by ID.
@@ -35,6 +37,8 @@ public class CancelBlockUseCase {
         Block saved = blockRepository.save(block);
         log.info("Block cancelled successfully: {}", saved.getBlockNumber());
 
+        agendaEventPublisher.agendaChanged(saved.getStartAt(), saved.getEndAt());
+
         return saved;
     }
 }
@@ -1,10 +1,14 @@
 package com.flavia.dermobeauty.booking.application.usecase;
 
+import com.flavia.dermobeauty.booking.application.port.AgendaEventPublisher;
+import com.flavia.dermobeauty.booking.application.port.BookingReportRecorder;
 import com.flavia.dermobeauty.booking.domain.Booking;
 import com.flavia.dermobeauty.booking.domain.BookingRepository;
+import com.flavia.dermobeauty.booking.domain.PaymentStatus;
 import com.flavia.dermobeauty.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Use Case: Cancel a booking.
@@ -15,20 +19,31 @@ import lombok.extern.slf4j.Slf4j;
 public class CancelBookingUseCase {
 
     private final BookingRepository bookingRepository;
+    private final AgendaEventPublisher agendaEventPublisher;
+    private final BookingReportRecorder bookingReportRecorder;
 
+    @Transactional
     public Booking execute(Long bookingId) {
         log.info("Cancelling booking: {}", bookingId);
 
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking", bookingId));
 
+        // A paid booking is counted in the sales reports until it is cancelled
+        boolean countedSale = booking.getPaymentStatus() == PaymentStatus.PAID;
+
         // Cancel (domain logic validates business rules)
         booking.cancel();
 
         // Persist
         Booking updated = bookingRepository.save(booking);
+        if (countedSale) {
+            bookingReportRecorder.bookingCancelled(updated);
+        }
         log.info("Booking cancelled: {}", updated.getBookingNumber());
 
+        agendaEventPublisher.agendaChanged(updated.getStartAt(), updated.getEndAt());
+
         return updated;
     }
 }
@@ -1,45 +1,84 @@
 package com.flavia.dermobeauty.booking.application.usecase;
 
+import com.flavia.dermobeauty.booking.application.port.BookingReportRecorder;
 import com.flavia.dermobeauty.booking.application.port.NotificationService;
 import com.flavia.dermobeauty.booking.domain.Booking;
 import com.flavia.dermobeauty.booking.domain.BookingRepository;
+import com.flavia.dermobeauty.booking.domain.BookingStatus;
+import com.flavia.dermobeauty.booking.domain.PaymentStatus;
+import com.flavia.dermobeauty.shared.exception.DomainException;
 import com.flavia.dermobeauty.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
 
 /**
  * Use Case: Confirm booking payment.
  * Called from Mercado Pago webhook when payment is approved.
+ *
+ * The booking is confirmed with one conditional update (no payment yet, not
+ * cancelled, same amount), so concurrent or repeated deliveries of a payment
+ * cannot both win; the row count tells a first delivery from a duplicate.
+ * Counts the booking in the sales report rollups in the same transaction.
  */
 @Slf4j
 @RequiredArgsConstructor
 public class ConfirmBookingPaymentUseCase {
 
     private final BookingRepository bookingRepository;
+    private final BookingReportRecorder bookingReportRecorder;
     private final NotificationService notificationService;
 
-    public Booking execute(String paymentId) {
-        log.info("Confirming payment for payment ID: {}", paymentId);
-
-        // Find booking by payment ID
-        Booking booking = bookingRepository.findByMercadoPagoPaymentId(paymentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Booking with payment ID '" + paymentId + "' not found"));
+    /**
+     * @return true if this call confirmed the booking, false if the payment was already applied
+     * @throws DomainException if the booking cannot take this payment (cancelled, paid by
+     *                         another payment, amount mismatch)
+     */
+    @Transactional
+    public boolean execute(String bookingNumber, String paymentId, BigDecimal amount) {
+        log.info("Confirming payment {} for booking: {}", paymentId, bookingNumber);
 
-        // Confirm payment (domain logic)
-        booking.confirmPayment(paymentId);
+        if (amount == null || !bookingRepository.confirmPayment(bookingNumber, paymentId, amount)) {
+            return rejectOrIgnore(bookingNumber, paymentId, amount);
+        }
 
-        // Persist
-        Booking updated = bookingRepository.save(booking);
-        log.info("Payment confirmed for booking: {}", updated.getBookingNumber());
+        Booking confirmed = bookingRepository.findByBookingNumber(bookingNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking '" + bookingNumber + "' not found"));
+        bookingReportRecorder.bookingPaid(confirmed);
+        log.info("Payment confirmed for booking: {}", bookingNumber);
 
         // Send confirmation email (async, non-blocking)
         try {
-            notificationService.sendBookingConfirmation(updated);
+            notificationService.sendBookingConfirmation(confirmed);
         } catch (Exception e) {
-            log.error("Failed to send booking confirmation email for {}", updated.getBookingNumber(), e);
+            log.error("Failed to send booking confirmation email for {}", bookingNumber, e);
             // Don't throw - email failure should not break payment confirmation
         }
 
-        return updated;
+        return true;
+    }
+
+    /**
+     * The update matched nothing: work out why from the current row.
+     */
+    private boolean rejectOrIgnore(String bookingNumber, String paymentId, BigDecimal amount) {
+        Booking booking = bookingRepository.findByBookingNumber(bookingNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking '" + bookingNumber + "' not found"));
+
+        if (paymentId.equals(booking.getMercadoPagoPaymentId())) {
+            log.warn("Booking {} already has payment {} applied, ignoring duplicate", bookingNumber, paymentId);
+            return false;
+        }
+        if (booking.getMercadoPagoPaymentId() != null || booking.getPaymentStatus() == PaymentStatus.PAID) {
+            throw new DomainException("Booking " + bookingNumber + " already paid with payment "
+                    + booking.getMercadoPagoPaymentId() + ", rejecting payment " + paymentId);
+        }
+        if (booking.getStatus() == BookingStatus.CANCELLED) {
+            throw new DomainException("Cannot confirm payment for cancelled booking " + bookingNumber);
+        }
+        throw new DomainException("Payment amount " + amount + " does not match booking "
+                + bookingNumber + " amount " + booking.getAmount());
     }
 }
@@ -1,5 +1,6 @@
 package com.flavia.dermobeauty.booking.application.usecase;
 
+import com.flavia.dermobeauty.booking.application.port.AgendaEventPublisher;
 import com.flavia.dermobeauty.booking.domain.Block;
 import com.flavia.dermobeauty.booking.domain.BlockRepository;
 import com.flavia.dermobeauty.booking.domain.BookingRepository;
@@ -22,6 +23,7 @@ public class CreateBlockUseCase {
 
     private final BlockRepository blockRepository;
     private final BookingRepository bookingRepository;
+    private final AgendaEventPublisher agendaEventPublisher;
 
     /**
      * Creates a new block.
@@ -45,15 +47,12 @@ public class CreateBlockUseCase {
             throw new ValidationException("La hora de inicio debe ser anterior a la hora de fin");
         }
 
-        // Check for collisions with active blocks
-        if (blockRepository.existsActiveBlockInRange(startAt, endAt)) {
-            throw new ConflictException("Ya existe un bloqueo activo en ese rango de tiempo");
-        }
-
-        // Check for collisions with active bookings
+        // Check for collisions with active blocks and active bookings
         // Bookings that "occupy" are PENDING or CONFIRMED
-        if (hasBookingCollision(startAt, endAt)) {
-            throw new ConflictException("Existe un turno activo en ese rango de tiempo");
+        switch (bookingRepository.findCollision(startAt, endAt, null)) {
+            case BLOCK -> throw new ConflictException("Ya existe un bloqueo activo en ese rango de tiempo");
+            case BOOKING -> throw new ConflictException("Existe un turno activo en ese rango de tiempo");
+            case NONE -> { }
         }
 
         // Generate block number
@@ -66,6 +65,8 @@ public class CreateBlockUseCase {
         Block saved = blockRepository.save(block);
         log.info("Block created successfully: {}", saved.getBlockNumber());
 
+        agendaEventPublisher.agendaChanged(saved.getStartAt(), saved.getEndAt());
+
         return saved;
     }
 
@@ -78,17 +79,6 @@ public class CreateBlockUseCase {
         }
     }
 
-    private boolean hasBookingCollision(OffsetDateTime startAt, OffsetDateTime endAt) {
-        // Query bookings in range (only those that occupy time: PENDING, CONFIRMED)
-        return bookingRepository.findByDateRange(startAt, endAt, false).stream()
-                .anyMatch(booking -> {
-                    OffsetDateTime bookingStart = booking.getStartAt();
-                    OffsetDateTime bookingEnd = booking.getEndAt();
-                    // Collision: A.start < B.end AND B.start < A.end
-                    return bookingStart.isBefore(endAt) && startAt.isBefore(bookingEnd);
-                });
-    }
-
     private String generateBlockNumber() {
         String uuid = UUID.randomUUID().toString().replace("-", "").substring(0, 8).toUpperCase();
         return "BLOCK-" + uuid;
@@ -1,5 +1,6 @@
 package com.flavia.dermobeauty.booking.application.usecase;
 
+import com.flavia.dermobeauty.booking.application.port.AgendaEventPublisher;
 import com.flavia.dermobeauty.booking.domain.*;
 import com.flavia.dermobeauty.shared.exception.ValidationException;
 import lombok.RequiredArgsConstructor;
@@ -11,7 +12,6 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
-import java.util.List;
 import java.util.UUID;
 
 @SuppressWarnings("ClassCanBeRecord")
@@ -22,7 +22,7 @@ public class CreateBookingUseCase {
     private static final ZoneId ARGENTINA_ZONE = ZoneId.of("America/Argentina/Buenos_Aires");
 
     private final BookingRepository bookingRepository;
-    private final BlockRepository blockRepository;
+    private final AgendaEventPublisher agendaEventPublisher;
 
     public Booking execute(
             Long serviceId,
@@ -50,25 +50,20 @@ public class CreateBookingUseCase {
         // Calcular hora de fin
         LocalTime bookingEndTime = bookingTime.plusMinutes(durationMinutes);
 
-        // Calcular OffsetDateTime para verificar bloqueos
+        // Calcular OffsetDateTime para verificar colisiones
         OffsetDateTime slotStart = LocalDateTime.of(bookingDate, bookingTime)
                 .atZone(ARGENTINA_ZONE).toOffsetDateTime();
-        OffsetDateTime slotEnd = LocalDateTime.of(bookingDate, bookingEndTime)
-                .atZone(ARGENTINA_ZONE).toOffsetDateTime();
+        OffsetDateTime slotEnd = slotStart.plusMinutes(durationMinutes);
 
-        // Verificar que no hay bloqueos activos en ese horario
-        List<Block> activeBlocks = blockRepository.findActiveBlocksInRange(slotStart, slotEnd);
-        if (!activeBlocks.isEmpty()) {
-            throw new ValidationException(
+        // Verificar bloqueos activos y bookings solapados en una sola consulta (verificación global)
+        switch (bookingRepository.findCollision(slotStart, slotEnd, null)) {
+            case BLOCK -> throw new ValidationException(
                     "El horario seleccionado (" + bookingTime + " - " + bookingEndTime + ") está bloqueado."
             );
-        }
-
-        // Validar disponibilidad (sin bookings solapados - verificación global)
-        if (!bookingRepository.isTimeSlotAvailable(bookingDate, bookingTime, bookingEndTime)) {
-            throw new ValidationException(
+            case BOOKING -> throw new ValidationException(
                     "El horario seleccionado (" + bookingTime + " - " + bookingEndTime + ") no está disponible."
             );
+            case NONE -> { }
         }
 
         // Crear value objects
@@ -106,6 +101,8 @@ public class CreateBookingUseCase {
         Booking saved = bookingRepository.save(booking);
         log.info("Booking created successfully: {}", saved.getBookingNumber());
 
+        agendaEventPublisher.agendaChanged(saved.getStartAt(), saved.getEndAt());
+
         return saved;
     }
 
@@ -1,33 +1,40 @@
 package com.flavia.dermobeauty.booking.application.usecase;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flavia.dermobeauty.booking.application.port.AvailabilityCache;
 import com.flavia.dermobeauty.booking.domain.Block;
 import com.flavia.dermobeauty.booking.domain.BlockRepository;
 import com.flavia.dermobeauty.booking.domain.Booking;
 import com.flavia.dermobeauty.booking.domain.BookingRepository;
+import com.flavia.dermobeauty.booking.domain.DayOccupancy;
 import com.flavia.dermobeauty.catalog.entity.ServiceEntity;
 import com.flavia.dermobeauty.catalog.repository.ServiceRepository;
-import com.flavia.dermobeauty.config.domain.ConfigEntry;
-import com.flavia.dermobeauty.config.repository.ConfigRepository;
+import com.flavia.dermobeauty.config.domain.BusinessHours;
+import com.flavia.dermobeauty.config.service.ScheduleProvider;
 import com.flavia.dermobeauty.shared.exception.ResourceNotFoundException;
+import com.flavia.dermobeauty.shared.exception.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
+import java.time.YearMonth;
 import java.time.ZoneId;
-import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 
 /**
- * Use Case: Get available time slots for a service on a specific date.
+ * Use Case: Get available time slots for a service on a specific date
+ * or on every day of a date range (up to 60 days), plus per-day counts for a month.
  *
- * Business hours are database-driven via the "schedule.weekly" config entry.
+ * Business hours are database-driven via the "schedule.weekly" config entry,
+ * read from the pre-parsed table held by {@link ScheduleProvider}.
+ * Computed days are cached per (date, duration) and evicted on agenda changes.
  * Returns empty list if the requested day is marked as closed.
  *
  * Availability considers:
@@ -42,21 +49,35 @@ import java.util.Locale;
 public class GetAvailableSlotsUseCase {
 
     private static final ZoneId ARGENTINA_ZONE = ZoneId.of("America/Argentina/Buenos_Aires");
-    private static final int SLOT_INTERVAL_MINUTES = 30;
-    private static final String SCHEDULE_CONFIG_KEY = "schedule.weekly";
-
-    // Fallback values if config is missing or invalid
-    private static final LocalTime FALLBACK_OPEN_TIME = LocalTime.of(9, 0);
-    private static final LocalTime FALLBACK_CLOSE_TIME = LocalTime.of(19, 0);
+    private static final int MAX_RANGE_DAYS = 60;
 
     private final BookingRepository bookingRepository;
     private final BlockRepository blockRepository;
     private final ServiceRepository serviceRepository;
-    private final ConfigRepository configRepository;
-    private final ObjectMapper objectMapper;
+    private final ScheduleProvider scheduleProvider;
+    private final AvailabilityCache availabilityCache;
 
     public List<LocalTime> execute(Long serviceId, LocalDate date) {
-        log.debug("Calculating availability for service {} on {}", serviceId, date);
+        return executeRange(serviceId, date, date).get(date);
+    }
+
+    /**
+     * Computes available slots for every day in [from, to] (inclusive).
+     * Bookings and blocks for the whole range are loaded with one query each
+     * and painted onto one occupancy bitmap per day.
+     *
+     * @return slots per day, ordered by date; closed days map to an empty list
+     */
+    public Map<LocalDate, List<LocalTime>> executeRange(Long serviceId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new ValidationException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new ValidationException(
+                    String.format("Availability range cannot exceed %d days", MAX_RANGE_DAYS));
+        }
+
+        log.debug("Calculating availability for service {} from {} to {}", serviceId, from, to);
 
         // 1. Get service duration (for slot sizing)
         ServiceEntity service = serviceRepository.findById(serviceId)
@@ -68,160 +89,103 @@ public class GetAvailableSlotsUseCase {
             log.warn("Service {} has invalid duration {}. Rounding to nearest 30.", serviceId, durationMinutes);
             durationMinutes = ((durationMinutes + 29) / 30) * 30;
         }
+        int slotCount = DayOccupancy.slotsFor(durationMinutes);
 
-        // 2. Get business hours for the requested day
-        BusinessHours businessHours = getBusinessHoursForDate(date);
-
-        // 3. If the day is closed, return empty list
-        if (!businessHours.isEnabled()) {
-            log.info("Day {} is closed. No slots available.", date.getDayOfWeek());
-            return Collections.emptyList();
-        }
-
-        // 4. Convert day boundaries to OffsetDateTime
-        OffsetDateTime dayStart = date.atTime(businessHours.getOpenTime())
-                .atZone(ARGENTINA_ZONE).toOffsetDateTime();
-        OffsetDateTime dayEnd = date.atTime(businessHours.getCloseTime())
-                .atZone(ARGENTINA_ZONE).toOffsetDateTime();
+        Map<LocalDate, List<LocalTime>> result = new LinkedHashMap<>();
 
-        // 5. Get all OCCUPYING bookings for the day (PENDING, CONFIRMED only)
-        // Using date range query - includeCancelled=false excludes CANCELLED
-        List<Booking> occupyingBookings = bookingRepository.findByDateRange(dayStart, dayEnd, false)
-                .stream()
-                .filter(Booking::occupiesTime) // PENDING or CONFIRMED
-                .toList();
-
-        // 6. Get all ACTIVE blocks for the day
-        List<Block> activeBlocks = blockRepository.findActiveBlocksInRange(dayStart, dayEnd);
-
-        // 7. Check if entire day is blocked
-        if (isDayFullyBlocked(dayStart, dayEnd, activeBlocks)) {
-            log.info("Day {} is fully blocked. No slots available.", date);
-            return Collections.emptyList();
-        }
-
-        // 8. Calculate available slots
-        List<LocalTime> availableSlots = new ArrayList<>();
-        LocalTime currentSlot = businessHours.getOpenTime();
-        LocalTime closeTime = businessHours.getCloseTime();
+        // 2. Cached days need no work
+        long cacheVersion = availabilityCache.version();
+        List<LocalDate> pendingDays = new ArrayList<>();
 
-        while (canServiceFit(currentSlot, durationMinutes, closeTime)) {
-            OffsetDateTime slotStart = date.atTime(currentSlot)
-                    .atZone(ARGENTINA_ZONE).toOffsetDateTime();
-            OffsetDateTime slotEnd = slotStart.plusMinutes(durationMinutes);
-
-            if (isSlotFree(slotStart, slotEnd, occupyingBookings, activeBlocks)) {
-                availableSlots.add(currentSlot);
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            Optional<List<LocalTime>> cached = availabilityCache.get(date, durationMinutes);
+            result.put(date, cached.orElse(Collections.emptyList()));
+            if (cached.isEmpty()) {
+                pendingDays.add(date);
             }
-
-            currentSlot = currentSlot.plusMinutes(SLOT_INTERVAL_MINUTES);
         }
 
-        log.debug("Found {} available slots for service {} on {}", availableSlots.size(), serviceId, date);
-        return availableSlots;
-    }
-
-    /**
-     * Fetches business hours from database config for the requested date.
-     */
-    private BusinessHours getBusinessHoursForDate(LocalDate date) {
-        try {
-            String dayKey = date.getDayOfWeek()
-                    .getDisplayName(TextStyle.FULL, Locale.ENGLISH)
-                    .toLowerCase();
-
-            ConfigEntry scheduleConfig = configRepository.findByKey(SCHEDULE_CONFIG_KEY)
-                    .orElseThrow(() -> new RuntimeException("Schedule config not found"));
+        if (pendingDays.isEmpty()) {
+            return result;
+        }
 
-            JsonNode scheduleJson = objectMapper.readTree(scheduleConfig.getValue());
-            JsonNode dayConfig = scheduleJson.get(dayKey);
+        // 3. Closed days are resolved from the schedule alone
+        Map<LocalDate, DayOccupancy> openDays = new LinkedHashMap<>();
 
-            if (dayConfig == null) {
-                log.warn("No config found for day '{}', using fallback", dayKey);
-                return new BusinessHours(true, FALLBACK_OPEN_TIME, FALLBACK_CLOSE_TIME);
+        for (LocalDate date : pendingDays) {
+            BusinessHours businessHours = scheduleProvider.getBusinessHours(date.getDayOfWeek());
+            if (!businessHours.enabled()) {
+                log.debug("Day {} is closed. No slots available.", date.getDayOfWeek());
+                availabilityCache.put(date, durationMinutes, Collections.emptyList(), cacheVersion);
+                continue;
             }
 
-            boolean enabled = dayConfig.get("enabled").asBoolean();
-            if (!enabled) {
-                return new BusinessHours(false, null, null);
-            }
+            openDays.put(date, DayOccupancy.of(date, ARGENTINA_ZONE,
+                    businessHours.openTime(), businessHours.closeTime()));
+        }
 
-            String startTimeStr = dayConfig.get("startTime").asText();
-            String endTimeStr = dayConfig.get("endTime").asText();
+        if (openDays.isEmpty()) {
+            return result;
+        }
 
-            LocalTime openTime = LocalTime.parse(startTimeStr);
-            LocalTime closeTime = LocalTime.parse(endTimeStr);
+        // 4. One query each for OCCUPYING bookings (PENDING, CONFIRMED) and ACTIVE blocks
+        LocalDate firstDay = pendingDays.get(0);
+        LocalDate lastDay = pendingDays.get(pendingDays.size() - 1);
+        OffsetDateTime rangeStart = firstDay.atStartOfDay(ARGENTINA_ZONE).toOffsetDateTime();
+        OffsetDateTime rangeEnd = lastDay.plusDays(1).atStartOfDay(ARGENTINA_ZONE).toOffsetDateTime();
 
-            log.debug("Business hours for {}: {} - {}", dayKey, openTime, closeTime);
-            return new BusinessHours(true, openTime, closeTime);
+        List<Booking> occupyingBookings = bookingRepository.findByDateRange(rangeStart, rangeEnd, false)
+                .stream()
+                .filter(Booking::occupiesTime)
+                .toList();
+        List<Block> activeBlocks = blockRepository.findActiveBlocksInRange(rangeStart, rangeEnd);
 
-        } catch (Exception e) {
-            log.error("Error parsing schedule config, using fallback hours", e);
-            return new BusinessHours(true, FALLBACK_OPEN_TIME, FALLBACK_CLOSE_TIME);
+        // 5. Paint every event onto each open day it touches
+        for (Booking b : occupyingBookings) {
+            occupy(openDays, b.getStartAt(), b.getEndAt());
         }
-    }
-
-    private boolean canServiceFit(LocalTime start, int duration, LocalTime closeTime) {
-        LocalTime end = start.plusMinutes(duration);
-        // Check for midnight overflow
-        if (end.isBefore(start)) return false;
-        return !end.isAfter(closeTime);
-    }
-
-    /**
-     * Checks if a slot is free (no collisions with bookings or blocks).
-     */
-    private boolean isSlotFree(OffsetDateTime slotStart, OffsetDateTime slotEnd,
-                               List<Booking> bookings, List<Block> blocks) {
-        // Check collision with bookings
-        for (Booking b : bookings) {
-            OffsetDateTime bStart = b.getStartAt();
-            OffsetDateTime bEnd = b.getEndAt();
-
-            // Overlap: A.start < B.end AND A.end > B.start
-            if (slotStart.isBefore(bEnd) && slotEnd.isAfter(bStart)) {
-                return false;
-            }
+        for (Block bl : activeBlocks) {
+            occupy(openDays, bl.getStartAt(), bl.getEndAt());
         }
 
-        // Check collision with blocks
-        for (Block bl : blocks) {
-            OffsetDateTime blStart = bl.getStartAt();
-            OffsetDateTime blEnd = bl.getEndAt();
+        // 6. Valid start slots are the free slots followed by enough free slots for the service
+        for (DayOccupancy occupancy : openDays.values()) {
+            List<LocalTime> slots = occupancy.isFullyOccupied()
+                    ? Collections.emptyList()
+                    : occupancy.availableSlots(slotCount);
 
-            if (slotStart.isBefore(blEnd) && slotEnd.isAfter(blStart)) {
-                return false;
-            }
+            result.put(occupancy.getDate(), slots);
+            availabilityCache.put(occupancy.getDate(), durationMinutes, slots, cacheVersion);
         }
 
-        return true;
+        log.debug("Computed availability for service {} on {} days ({} from database)",
+                serviceId, result.size(), openDays.size());
+        return result;
     }
 
     /**
-     * Checks if the entire business day is covered by a single block.
+     * Number of available start slots per day of {@code month}.
+     * Shares the range computation and its per-day cache entries, so only
+     * days touched by an agenda write since the last call are recomputed.
+     *
+     * @return slot count per day, ordered by date; closed days map to 0
      */
-    private boolean isDayFullyBlocked(OffsetDateTime dayStart, OffsetDateTime dayEnd, List<Block> blocks) {
-        for (Block bl : blocks) {
-            if (bl.getStartAt().compareTo(dayStart) <= 0 && bl.getEndAt().compareTo(dayEnd) >= 0) {
-                return true;
-            }
-        }
-        return false;
-    }
+    public Map<LocalDate, Integer> executeMonth(Long serviceId, YearMonth month) {
+        Map<LocalDate, List<LocalTime>> slots = executeRange(serviceId, month.atDay(1), month.atEndOfMonth());
 
-    private static class BusinessHours {
-        private final boolean enabled;
-        private final LocalTime openTime;
-        private final LocalTime closeTime;
+        Map<LocalDate, Integer> counts = new LinkedHashMap<>();
+        slots.forEach((date, daySlots) -> counts.put(date, daySlots.size()));
+        return counts;
+    }
 
-        public BusinessHours(boolean enabled, LocalTime openTime, LocalTime closeTime) {
-            this.enabled = enabled;
-            this.openTime = openTime;
-            this.closeTime = closeTime;
+    private void occupy(Map<LocalDate, DayOccupancy> days, OffsetDateTime start, OffsetDateTime end) {
+        LocalDate first = start.atZoneSameInstant(ARGENTINA_ZONE).toLocalDate();
+        LocalDate last = end.minusNanos(1).atZoneSameInstant(ARGENTINA_ZONE).toLocalDate();
+        for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+            DayOccupancy occupancy = days.get(date);
+            if (occupancy != null) {
+                occupancy.occupy(start, end);
+            }
         }
-
-        public boolean isEnabled() { return enabled; }
-        public LocalTime getOpenTime() { return openTime; }
-        public LocalTime getCloseTime() { return closeTime; }
     }
 }
@@ -0,0 +1,105 @@
+package com.flavia.dermobeauty.booking.application.usecase;
+
+import com.flavia.dermobeauty.booking.application.port.CalendarEventQuery;
+import com.flavia.dermobeauty.booking.web.dto.CalendarChangesResponse;
+import com.flavia.dermobeauty.booking.web.dto.CalendarEventResponse;
+import com.flavia.dermobeauty.shared.exception.ValidationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Use case for calendar delta sync.
+ *
+ * Every write to bookings and blocks is stamped with the id of its
+ * transaction, so "what changed since version N" is an index range scan on
+ * each table. Cancelled events are returned too, so the client can drop them.
+ *
+ * The version handed out is the snapshot xmin, the oldest transaction still
+ * in flight: everything below it has committed (or rolled back), and every
+ * transaction that commits later has an id at or above it, so a slow writer
+ * delays its rows until it finishes but never lands behind a version a client
+ * already holds. An idle open transaction holds deltas back the same way.
+ */
+@SuppressWarnings("ClassCanBeRecord")
+@Slf4j
+@RequiredArgsConstructor
+public class GetCalendarChangesUseCase {
+
+    static final int MAX_CHANGES = 500;
+
+    private static final Comparator<CalendarEventResponse> CHANGE_ORDER =
+            Comparator.comparing(CalendarEventResponse::getChangeXid)
+                    .thenComparing(CalendarEventResponse::getChangeSeq);
+
+    private final CalendarEventQuery calendarEventQuery;
+
+    /**
+     * Fetches events written since {@code since}.
+     *
+     * @param since version returned by the previous call; null returns only the current version
+     * @return changed events in change order, the version to poll with next, and whether more are pending
+     */
+    @Transactional(readOnly = true)
+    public CalendarChangesResponse execute(Long since) {
+        // Read first: each query below runs later, so it sees every row written under the horizon
+        long horizon = calendarEventQuery.changeHorizon();
+
+        if (since == null) {
+            return CalendarChangesResponse.builder()
+                    .version(horizon)
+                    .events(List.of())
+                    .hasMore(false)
+                    .build();
+        }
+        if (since < 0) {
+            throw new ValidationException("since must not be negative");
+        }
+        if (since > horizon) {
+            throw new ValidationException("since is not a version issued by this server; call without since to start over");
+        }
+
+        // One extra row per table tells whether another page is pending
+        List<CalendarEventResponse> events = findChanges(since, horizon, MAX_CHANGES + 1);
+
+        long version = horizon;
+        boolean hasMore = events.size() > MAX_CHANGES;
+        if (hasMore) {
+            // Cut between transactions so the next page can resume at the first one left out
+            long nextXid = events.get(MAX_CHANGES).getChangeXid();
+            events = new ArrayList<>(events.stream().filter(event -> event.getChangeXid() < nextXid).toList());
+            version = nextXid;
+
+            if (events.isEmpty()) {
+                // A single transaction wrote more than a page: return it whole
+                events = findChanges(nextXid, nextXid + 1, Integer.MAX_VALUE);
+                version = nextXid + 1;
+            }
+            hasMore = version < horizon;
+        }
+
+        log.debug("Calendar changes since {}: {} events, version {}, hasMore={}",
+                since, events.size(), version, hasMore);
+
+        return CalendarChangesResponse.builder()
+                .version(version)
+                .events(events)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private List<CalendarEventResponse> findChanges(long fromXid, long toXid, int limit) {
+        List<CalendarEventResponse> bookings = calendarEventQuery.findBookingChanges(fromXid, toXid, limit);
+        List<CalendarEventResponse> blocks = calendarEventQuery.findBlockChanges(fromXid, toXid, limit);
+
+        List<CalendarEventResponse> events = new ArrayList<>(bookings.size() + blocks.size());
+        events.addAll(bookings);
+        events.addAll(blocks);
+        events.sort(CHANGE_ORDER);
+        return events;
+    }
+}
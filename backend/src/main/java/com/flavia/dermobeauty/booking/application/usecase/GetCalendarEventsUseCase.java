@@ -1,9 +1,6 @@
 package com.flavia.dermobeauty.booking.application.usecase;
 
-import com.flavia.dermobeauty.booking.domain.Block;
-import com.flavia.dermobeauty.booking.domain.BlockRepository;
-import com.flavia.dermobeauty.booking.domain.Booking;
-import com.flavia.dermobeauty.booking.domain.BookingRepository;
+import com.flavia.dermobeauty.booking.application.port.CalendarEventQuery;
 import com.flavia.dermobeauty.booking.web.dto.CalendarEventResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,8 +24,7 @@ public class GetCalendarEventsUseCase {
 
     private static final ZoneId ARGENTINA_ZONE = ZoneId.of("America/Argentina/Buenos_Aires");
 
-    private final BookingRepository bookingRepository;
-    private final BlockRepository blockRepository;
+    private final CalendarEventQuery calendarEventQuery;
 
     /**
      * Fetches calendar events for a date range.
@@ -46,24 +42,18 @@ public class GetCalendarEventsUseCase {
         OffsetDateTime from = fromDate.atStartOfDay(ARGENTINA_ZONE).toOffsetDateTime();
         OffsetDateTime to = toDate.atTime(LocalTime.MAX).atZone(ARGENTINA_ZONE).toOffsetDateTime();
 
-        // Fetch bookings
-        List<Booking> bookings = bookingRepository.findByDateRange(from, to, includeCancelled);
+        // Fetch bookings (projected straight into events)
+        List<CalendarEventResponse> bookings = calendarEventQuery.findBookingEvents(from, to, includeCancelled);
         log.debug("Found {} bookings in range", bookings.size());
 
         // Fetch blocks
-        List<Block> blocks = blockRepository.findByDateRange(from, to, includeCancelled);
+        List<CalendarEventResponse> blocks = calendarEventQuery.findBlockEvents(from, to, includeCancelled);
         log.debug("Found {} blocks in range", blocks.size());
 
-        // Convert and merge
-        List<CalendarEventResponse> events = new ArrayList<>();
-
-        for (Booking booking : bookings) {
-            events.add(CalendarEventResponse.fromBooking(booking));
-        }
-
-        for (Block block : blocks) {
-            events.add(CalendarEventResponse.fromBlock(block));
-        }
+        // Merge
+        List<CalendarEventResponse> events = new ArrayList<>(bookings.size() + blocks.size());
+        events.addAll(bookings);
+        events.addAll(blocks);
 
         // Sort by start time
         events.sort(Comparator.comparing(CalendarEventResponse::getStartAt));
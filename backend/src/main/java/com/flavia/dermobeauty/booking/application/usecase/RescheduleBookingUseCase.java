@@ -1,6 +1,6 @@
 package com.flavia.dermobeauty.booking.application.usecase;
 
-import com.flavia.dermobeauty.booking.domain.BlockRepository;
+import com.flavia.dermobeauty.booking.application.port.AgendaEventPublisher;
 import com.flavia.dermobeauty.booking.domain.Booking;
 import com.flavia.dermobeauty.booking.domain.BookingRepository;
 import com.flavia.dermobeauty.shared.exception.ConflictException;
@@ -21,7 +21,7 @@ import java.time.OffsetDateTime;
 public class RescheduleBookingUseCase {
 
     private final BookingRepository bookingRepository;
-    private final BlockRepository blockRepository;
+    private final AgendaEventPublisher agendaEventPublisher;
 
     /**
      * Reschedules a booking to a new start time.
@@ -49,15 +49,15 @@ public class RescheduleBookingUseCase {
         // Calculate new end time
         OffsetDateTime newEndAt = newStartAt.plusMinutes(booking.getDurationMinutes());
 
-        // Check for collisions with other bookings (excluding this one)
-        if (hasBookingCollision(bookingId, newStartAt, newEndAt)) {
-            throw new ConflictException("El nuevo horario colisiona con otro turno existente");
+        // Check for collisions with other bookings (excluding this one) and blocks
+        switch (bookingRepository.findCollision(newStartAt, newEndAt, bookingId)) {
+            case BOOKING -> throw new ConflictException("El nuevo horario colisiona con otro turno existente");
+            case BLOCK -> throw new ConflictException("El nuevo horario colisiona con un bloqueo existente");
+            case NONE -> { }
         }
 
-        // Check for collisions with blocks
-        if (blockRepository.existsActiveBlockInRange(newStartAt, newEndAt)) {
-            throw new ConflictException("El nuevo horario colisiona con un bloqueo existente");
-        }
+        OffsetDateTime oldStartAt = booking.getStartAt();
+        OffsetDateTime oldEndAt = booking.getEndAt();
 
         // Reschedule
         booking.reschedule(newStartAt);
@@ -66,18 +66,9 @@ public class RescheduleBookingUseCase {
         Booking saved = bookingRepository.save(booking);
         log.info("Booking {} rescheduled to {}", saved.getBookingNumber(), newStartAt);
 
-        return saved;
-    }
+        agendaEventPublisher.agendaChanged(oldStartAt, oldEndAt);
+        agendaEventPublisher.agendaChanged(saved.getStartAt(), saved.getEndAt());
 
-    private boolean hasBookingCollision(Long excludeBookingId, OffsetDateTime startAt, OffsetDateTime endAt) {
-        // Query bookings in range (only those that occupy time: PENDING, CONFIRMED)
-        return bookingRepository.findByDateRange(startAt, endAt, false).stream()
-                .filter(b -> !b.getId().equals(excludeBookingId)) // Exclude current booking
-                .anyMatch(booking -> {
-                    OffsetDateTime bookingStart = booking.getStartAt();
-                    OffsetDateTime bookingEnd = booking.getEndAt();
-                    // Collision: A.start < B.end AND B.start < A.end
-                    return bookingStart.isBefore(endAt) && startAt.isBefore(bookingEnd);
-                });
+        return saved;
     }
 }
@@ -0,0 +1,75 @@
+package com.flavia.dermobeauty.booking.application.usecase;
+
+import com.flavia.dermobeauty.booking.application.port.CalendarEventQuery;
+import com.flavia.dermobeauty.booking.web.dto.CalendarEventResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Use case for streaming calendar events (bookings + blocks merged).
+ *
+ * Both tables are read through ordered database cursors and merged on the
+ * fly, so memory use does not depend on the size of the range. Events are
+ * handed to the sink in start time order, same as {@link GetCalendarEventsUseCase}.
+ */
+@SuppressWarnings("ClassCanBeRecord")
+@Slf4j
+@RequiredArgsConstructor
+public class StreamCalendarEventsUseCase {
+
+    private static final ZoneId ARGENTINA_ZONE = ZoneId.of("America/Argentina/Buenos_Aires");
+
+    private final CalendarEventQuery calendarEventQuery;
+
+    /**
+     * Streams calendar events for a date range into {@code sink}.
+     *
+     * @param fromDate start date (interpreted in Argentina timezone)
+     * @param toDate end date (interpreted in Argentina timezone, inclusive)
+     * @param includeCancelled if true, includes cancelled events
+     * @param sink receives each event, earliest first
+     * @return number of events written
+     */
+    @Transactional(readOnly = true)
+    public long execute(LocalDate fromDate, LocalDate toDate, boolean includeCancelled,
+                        Consumer<CalendarEventResponse> sink) {
+        OffsetDateTime from = fromDate.atStartOfDay(ARGENTINA_ZONE).toOffsetDateTime();
+        OffsetDateTime to = toDate.atTime(LocalTime.MAX).atZone(ARGENTINA_ZONE).toOffsetDateTime();
+
+        long count = 0;
+        try (Stream<CalendarEventResponse> bookings = calendarEventQuery.streamBookingEvents(from, to, includeCancelled);
+             Stream<CalendarEventResponse> blocks = calendarEventQuery.streamBlockEvents(from, to, includeCancelled)) {
+
+            Iterator<CalendarEventResponse> left = bookings.iterator();
+            Iterator<CalendarEventResponse> right = blocks.iterator();
+
+            CalendarEventResponse nextLeft = left.hasNext() ? left.next() : null;
+            CalendarEventResponse nextRight = right.hasNext() ? right.next() : null;
+
+            // Merge two cursors that are already ordered by start time
+            while (nextLeft != null || nextRight != null) {
+                if (nextRight == null
+                        || (nextLeft != null && !nextLeft.getStartAt().isAfter(nextRight.getStartAt()))) {
+                    sink.accept(nextLeft);
+                    nextLeft = left.hasNext() ? left.next() : null;
+                } else {
+                    sink.accept(nextRight);
+                    nextRight = right.hasNext() ? right.next() : null;
+                }
+                count++;
+            }
+        }
+
+        log.info("Streamed {} calendar events from {} to {}", count, fromDate, toDate);
+        return count;
+    }
+}
@@ -1,12 +1,15 @@
 package com.flavia.dermobeauty.booking.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flavia.dermobeauty.booking.application.port.AgendaEventPublisher;
+import com.flavia.dermobeauty.booking.application.port.AvailabilityCache;
+import com.flavia.dermobeauty.booking.application.port.BookingReportRecorder;
+import com.flavia.dermobeauty.booking.application.port.CalendarEventQuery;
 import com.flavia.dermobeauty.booking.application.port.NotificationService;
 import com.flavia.dermobeauty.booking.application.usecase.*;
 import com.flavia.dermobeauty.booking.domain.BlockRepository;
 import com.flavia.dermobeauty.booking.domain.BookingRepository;
 import com.flavia.dermobeauty.catalog.repository.ServiceRepository;
-import com.flavia.dermobeauty.config.repository.ConfigRepository;
+import com.flavia.dermobeauty.config.service.ScheduleProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -20,16 +23,17 @@ public class BookingConfig {
     @Bean
     public CreateBookingUseCase createBookingUseCase(
             BookingRepository bookingRepository,
-            BlockRepository blockRepository
+            AgendaEventPublisher agendaEventPublisher
     ) {
-        return new CreateBookingUseCase(bookingRepository, blockRepository);
+        return new CreateBookingUseCase(bookingRepository, agendaEventPublisher);
     }
 
     @Bean
     public ConfirmBookingPaymentUseCase confirmBookingPaymentUseCase(
             BookingRepository bookingRepository,
+            BookingReportRecorder bookingReportRecorder,
             NotificationService notificationService) {
-        return new ConfirmBookingPaymentUseCase(bookingRepository, notificationService);
+        return new ConfirmBookingPaymentUseCase(bookingRepository, bookingReportRecorder, notificationService);
     }
 
     @Bean
@@ -38,8 +42,12 @@ public class BookingConfig {
     }
 
     @Bean
-    public CancelBookingUseCase cancelBookingUseCase(BookingRepository bookingRepository) {
-        return new CancelBookingUseCase(bookingRepository);
+    public CancelBookingUseCase cancelBookingUseCase(
+            BookingRepository bookingRepository,
+            AgendaEventPublisher agendaEventPublisher,
+            BookingReportRecorder bookingReportRecorder
+    ) {
+        return new CancelBookingUseCase(bookingRepository, agendaEventPublisher, bookingReportRecorder);
     }
 
     @Bean
@@ -52,45 +60,56 @@ public class BookingConfig {
             BookingRepository bookingRepository,
             BlockRepository blockRepository,
             ServiceRepository serviceRepository,
-            ConfigRepository configRepository,
-            ObjectMapper objectMapper
+            ScheduleProvider scheduleProvider,
+            AvailabilityCache availabilityCache
     ) {
         return new GetAvailableSlotsUseCase(
                 bookingRepository,
                 blockRepository,
                 serviceRepository,
-                configRepository,
-                objectMapper
+                scheduleProvider,
+                availabilityCache
         );
     }
 
     @Bean
-    public GetCalendarEventsUseCase getCalendarEventsUseCase(
-            BookingRepository bookingRepository,
-            BlockRepository blockRepository
-    ) {
-        return new GetCalendarEventsUseCase(bookingRepository, blockRepository);
+    public GetCalendarEventsUseCase getCalendarEventsUseCase(CalendarEventQuery calendarEventQuery) {
+        return new GetCalendarEventsUseCase(calendarEventQuery);
+    }
+
+    @Bean
+    public StreamCalendarEventsUseCase streamCalendarEventsUseCase(CalendarEventQuery calendarEventQuery) {
+        return new StreamCalendarEventsUseCase(calendarEventQuery);
+    }
+
+    @Bean
+    public GetCalendarChangesUseCase getCalendarChangesUseCase(CalendarEventQuery calendarEventQuery) {
+        return new GetCalendarChangesUseCase(calendarEventQuery);
     }
 
     @Bean
     public CreateBlockUseCase createBlockUseCase(
             BlockRepository blockRepository,
-            BookingRepository bookingRepository
+            BookingRepository bookingRepository,
+            AgendaEventPublisher agendaEventPublisher
     ) {
-        return new CreateBlockUseCase(blockRepository, bookingRepository);
+        return new CreateBlockUseCase(blockRepository, bookingRepository, agendaEventPublisher);
     }
 
     @Bean
-    public CancelBlockUseCase cancelBlockUseCase(BlockRepository blockRepository) {
-        return new CancelBlockUseCase(blockRepository);
+    public CancelBlockUseCase cancelBlockUseCase(
+            BlockRepository blockRepository,
+            AgendaEventPublisher agendaEventPublisher
+    ) {
+        return new CancelBlockUseCase(blockRepository, agendaEventPublisher);
     }
 
     @Bean
     public RescheduleBookingUseCase rescheduleBookingUseCase(
             BookingRepository bookingRepository,
-            BlockRepository blockRepository
+            AgendaEventPublisher agendaEventPublisher
     ) {
-        return new RescheduleBookingUseCase(bookingRepository, blockRepository);
+        return new RescheduleBookingUseCase(bookingRepository, agendaEventPublisher);
     }
 
     @Bean
@@ -0,0 +1,10 @@
+package com.flavia.dermobeauty.booking.domain;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Raised after a booking or block starts or stops occupying [startAt, endAt).
+ * Listeners use it to drop anything derived from the agenda for those days.
+ */
+public record AgendaChangedEvent(OffsetDateTime startAt, OffsetDateTime endAt) {
+}
@@ -0,0 +1,10 @@
+package com.flavia.dermobeauty.booking.domain;
+
+/**
+ * Result of checking a time range against the agenda.
+ */
+public enum AgendaCollision {
+    NONE,       // Range is free
+    BOOKING,    // Overlaps a PENDING or CONFIRMED booking
+    BLOCK       // Overlaps an ACTIVE block
+}
@@ -36,10 +36,4 @@ public interface BlockRepository {
      * Used for collision detection.
      */
     List<Block> findActiveBlocksInRange(OffsetDateTime startAt, OffsetDateTime endAt);
-
-    /**
-     * Checks if there's any active block that overlaps with the given time range.
-     * Optimized for collision detection (returns early if any collision found).
-     */
-    boolean existsActiveBlockInRange(OffsetDateTime startAt, OffsetDateTime endAt);
 }
@@ -32,6 +32,7 @@ public class Booking {
     private BookingStatus status;
     private PaymentStatus paymentStatus;
     private String mercadoPagoPreferenceId;
+    private LocalDateTime mercadoPagoPreferenceCreatedAt;
     private String mercadoPagoPaymentId;
     private BigDecimal amount;
     private LocalDateTime createdAt;
@@ -41,7 +42,7 @@ public class Booking {
 
     /**
      * Computed end time based on startAt + durationMinutes.
-     * This is NOT persisted in DB to avoid inconsistencies.
+     * Stored as end_at for indexed overlap queries; the DB trigger keeps it in sync.
      */
     public OffsetDateTime getEndAt() {
         if (startAt == null || durationMinutes == null) {
@@ -84,6 +85,20 @@ public class Booking {
         this.updatedAt = LocalDateTime.now();
     }
 
+    /**
+     * Checks that a payment can still be started for this booking.
+     * Business rule: cancelled or already paid bookings cannot be paid.
+     */
+    public void ensurePayable() {
+        if (this.paymentStatus == PaymentStatus.PAID) {
+            throw new DomainException("Payment already confirmed for booking " + bookingNumber);
+        }
+
+        if (this.status == BookingStatus.CANCELLED) {
+            throw new DomainException("Cannot pay cancelled booking " + bookingNumber);
+        }
+    }
+
     /**
      * Cancels this booking.
      * Business rule: cannot cancel already completed bookings, cannot cancel twice.
@@ -1,7 +1,8 @@
 package com.flavia.dermobeauty.booking.domain;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalTime;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -34,11 +35,27 @@ public interface BookingRepository {
     Optional<Booking> findByMercadoPagoPaymentId(String paymentId);
 
     /**
-     * Check if a slot is available (no overlapping bookings).
+     * Mark a booking paid in one conditional update, under the rules of
+     * {@link Booking#confirmPayment}: only if it has no payment yet, is not
+     * cancelled and the amount matches.
+     *
+     * @return true if this call confirmed it, false if the booking did not qualify
+     */
+    boolean confirmPayment(String bookingNumber, String paymentId, BigDecimal amount);
+
+    /**
+     * Set the Mercado Pago preference ID and when it was created, leaving the rest of the row as it is.
+     */
+    void updateMercadoPagoPreference(Long bookingId, String preferenceId, LocalDateTime createdAt);
+
+    /**
+     * Check [startAt, endAt) against occupying bookings and active blocks in one query.
      * Global check - single resource model (Flavia handles all services).
-     * Returns true if the slot is free.
+     *
+     * @param excludeBookingId booking to ignore (the one being rescheduled), or null
+     * @return what the range collides with, blocks taking precedence
      */
-    boolean isTimeSlotAvailable(LocalDate date, LocalTime startTime, LocalTime endTime);
+    AgendaCollision findCollision(OffsetDateTime startAt, OffsetDateTime endAt, Long excludeBookingId);
 
     /**
      * Find all bookings (for admin).
@@ -0,0 +1,123 @@
+package com.flavia.dermobeauty.booking.domain;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Occupancy bitmap for the business hours of a single calendar day.
+ *
+ * The hours are split into slots of 30 minutes counted from the opening
+ * time; bit i represents the slot starting at i * 30 minutes after opening,
+ * so an opening at 09:15 offers 09:15, 09:45, ... exactly like the per-slot
+ * loop did. Only whole slots before closing exist. Bookings and blocks set
+ * the bits of every slot they overlap (to the second), and the valid start
+ * slots for a service of N slots are found by AND-ing the free mask with
+ * itself shifted 1..N-1 positions. No per-slot date objects are created
+ * until the result is decoded.
+ */
+public final class DayOccupancy {
+
+    public static final int SLOT_MINUTES = 30;
+    public static final int MAX_SLOTS = 24 * 60 / SLOT_MINUTES;
+
+    private static final long SLOT_SECONDS = SLOT_MINUTES * 60L;
+
+    private final LocalDate date;
+    private final LocalTime openTime;
+    private final ZonedDateTime opensAt;
+    private final long hoursMask;
+    private long occupied;
+
+    private DayOccupancy(LocalDate date, ZoneId zone, LocalTime openTime, LocalTime closeTime) {
+        this.date = date;
+        this.openTime = openTime;
+        this.opensAt = date.atTime(openTime).atZone(zone);
+
+        long openSeconds = Duration.between(openTime, closeTime).getSeconds();
+        int slots = (int) Math.min(MAX_SLOTS, Math.max(0, openSeconds / SLOT_SECONDS));
+        this.hoursMask = range(0, slots);
+    }
+
+    /**
+     * Empty day open from {@code openTime} to {@code closeTime} (local times in {@code zone}).
+     */
+    public static DayOccupancy of(LocalDate date, ZoneId zone, LocalTime openTime, LocalTime closeTime) {
+        return new DayOccupancy(date, zone, openTime, closeTime);
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * Marks every slot overlapping [start, end) as occupied. Parts of the
+     * interval outside business hours are ignored.
+     */
+    public void occupy(OffsetDateTime start, OffsetDateTime end) {
+        long fromSeconds = Duration.between(opensAt, start).getSeconds();
+        long toSeconds = Duration.between(opensAt, end).getSeconds();
+
+        long fromSlot = Math.max(0, Math.floorDiv(fromSeconds, SLOT_SECONDS));
+        long toSlot = Math.min(MAX_SLOTS, Math.floorDiv(toSeconds + SLOT_SECONDS - 1, SLOT_SECONDS));
+
+        if (fromSlot < toSlot) {
+            occupied |= range((int) fromSlot, (int) toSlot) & hoursMask;
+        }
+    }
+
+    /**
+     * Number of consecutive slots a service of the given duration needs.
+     */
+    public static int slotsFor(int durationMinutes) {
+        return Math.max(1, (durationMinutes + SLOT_MINUTES - 1) / SLOT_MINUTES);
+    }
+
+    /**
+     * Bitmask of valid start slots for a service needing {@code slotCount}
+     * consecutive free slots before closing.
+     */
+    public long availableStarts(int slotCount) {
+        long free = hoursMask & ~occupied;
+        long starts = free;
+        for (int i = 1; i < slotCount && starts != 0; i++) {
+            starts &= free >>> i;
+        }
+        return starts;
+    }
+
+    public boolean isFullyOccupied() {
+        return (hoursMask & ~occupied) == 0;
+    }
+
+    public List<LocalTime> availableSlots(int slotCount) {
+        return toTimes(availableStarts(slotCount));
+    }
+
+    /**
+     * Decodes a slot bitmask into local start times, earliest first.
+     */
+    public List<LocalTime> toTimes(long mask) {
+        List<LocalTime> times = new ArrayList<>(Long.bitCount(mask));
+        long remaining = mask;
+        while (remaining != 0) {
+            int slot = Long.numberOfTrailingZeros(remaining);
+            times.add(openTime.plusMinutes((long) slot * SLOT_MINUTES));
+            remaining &= remaining - 1;
+        }
+        return times;
+    }
+
+    private static long range(int fromSlot, int toSlot) {
+        if (fromSlot >= toSlot) {
+            return 0L;
+        }
+        long upTo = toSlot >= Long.SIZE ? -1L : (1L << toSlot) - 1;
+        return upTo & ~((1L << fromSlot) - 1);
+    }
+}
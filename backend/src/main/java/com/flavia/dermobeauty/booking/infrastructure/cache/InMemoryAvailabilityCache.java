@@ -0,0 +1,131 @@
+package com.flavia.dermobeauty.booking.infrastructure.cache;
+
+import com.flavia.dermobeauty.booking.application.port.AvailabilityCache;
+import com.flavia.dermobeauty.booking.domain.AgendaChangedEvent;
+import com.flavia.dermobeauty.config.domain.ConfigUpdatedEvent;
+import com.flavia.dermobeauty.config.service.ScheduleProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded in-process availability cache.
+ *
+ * Entries are grouped by date so an agenda change evicts every duration
+ * computed for the affected days at once. The number of cached dates is
+ * capped; the least recently read date is dropped first.
+ *
+ * Evictions run after the publishing transaction commits (or at once when
+ * there is none): evicting earlier would let a reader recompute slots from
+ * the pre-commit rows and cache them under the new version.
+ */
+@Slf4j
+@Component
+public class InMemoryAvailabilityCache implements AvailabilityCache {
+
+    private static final ZoneId ARGENTINA_ZONE = ZoneId.of("America/Argentina/Buenos_Aires");
+
+    private final int maxDates;
+    private final LinkedHashMap<LocalDate, Map<Integer, List<LocalTime>>> entries;
+    private long version;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public InMemoryAvailabilityCache(
+            @Value("${app.availability.cache.max-dates:120}") int maxDates,
+            MeterRegistry meterRegistry) {
+        this.maxDates = maxDates;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        this.hits = meterRegistry.counter("availability.cache.hits");
+        this.misses = meterRegistry.counter("availability.cache.misses");
+        this.evictions = meterRegistry.counter("availability.cache.evictions");
+        meterRegistry.gauge("availability.cache.dates", this, InMemoryAvailabilityCache::size);
+    }
+
+    @Override
+    public synchronized Optional<List<LocalTime>> get(LocalDate date, int durationMinutes) {
+        Map<Integer, List<LocalTime>> byDuration = entries.get(date);
+        List<LocalTime> slots = byDuration != null ? byDuration.get(durationMinutes) : null;
+        if (slots == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(slots);
+    }
+
+    @Override
+    public synchronized long version() {
+        return version;
+    }
+
+    @Override
+    public synchronized void put(LocalDate date, int durationMinutes, List<LocalTime> slots, long expectedVersion) {
+        if (expectedVersion != version) {
+            // The agenda changed while these slots were being computed
+            return;
+        }
+
+        entries.computeIfAbsent(date, d -> new HashMap<>()).put(durationMinutes, List.copyOf(slots));
+
+        while (entries.size() > maxDates) {
+            var eldest = entries.entrySet().iterator();
+            evictions.increment(eldest.next().getValue().size());
+            eldest.remove();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAgendaChanged(AgendaChangedEvent event) {
+        evict(toLocalDate(event.startAt()), toLocalDate(event.endAt().minusNanos(1)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConfigUpdated(ConfigUpdatedEvent event) {
+        if (ScheduleProvider.SCHEDULE_CONFIG_KEY.equals(event.key())) {
+            evictAll();
+        }
+    }
+
+    synchronized void evict(LocalDate from, LocalDate to) {
+        version++;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            Map<Integer, List<LocalTime>> removed = entries.remove(date);
+            if (removed != null) {
+                evictions.increment(removed.size());
+            }
+        }
+        log.debug("Availability cache evicted {} to {}", from, to);
+    }
+
+    synchronized void evictAll() {
+        version++;
+        entries.values().forEach(byDuration -> evictions.increment(byDuration.size()));
+        entries.clear();
+        log.info("Availability cache cleared");
+    }
+
+    private synchronized int size() {
+        return entries.size();
+    }
+
+    private static LocalDate toLocalDate(OffsetDateTime dateTime) {
+        return dateTime.atZoneSameInstant(ARGENTINA_ZONE).toLocalDate();
+    }
+}
@@ -0,0 +1,24 @@
+package com.flavia.dermobeauty.booking.infrastructure.event;
+
+import com.flavia.dermobeauty.booking.application.port.AgendaEventPublisher;
+import com.flavia.dermobeauty.booking.domain.AgendaChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Publishes agenda changes as Spring application events.
+ */
+@Component
+@RequiredArgsConstructor
+public class SpringAgendaEventPublisher implements AgendaEventPublisher {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public void agendaChanged(OffsetDateTime startAt, OffsetDateTime endAt) {
+        applicationEventPublisher.publishEvent(new AgendaChangedEvent(startAt, endAt));
+    }
+}
@@ -30,9 +30,11 @@ public class BookingMapper {
                 .bookingTime(booking.getTimeSlot().getTime())
                 .startAt(booking.getStartAt())
                 .durationMinutes(booking.getDurationMinutes())
+                .endAt(booking.getEndAt())
                 .status(booking.getStatus())
                 .paymentStatus(booking.getPaymentStatus())
                 .mercadoPagoPreferenceId(booking.getMercadoPagoPreferenceId())
+                .mercadoPagoPreferenceCreatedAt(booking.getMercadoPagoPreferenceCreatedAt())
                 .mercadoPagoPaymentId(booking.getMercadoPagoPaymentId())
                 .amount(booking.getAmount())
                 .createdAt(booking.getCreatedAt())
@@ -70,6 +72,7 @@ public class BookingMapper {
                 .status(entity.getStatus())
                 .paymentStatus(entity.getPaymentStatus())
                 .mercadoPagoPreferenceId(entity.getMercadoPagoPreferenceId())
+                .mercadoPagoPreferenceCreatedAt(entity.getMercadoPagoPreferenceCreatedAt())
                 .mercadoPagoPaymentId(entity.getMercadoPagoPaymentId())
                 .amount(entity.getAmount())
                 .createdAt(entity.getCreatedAt())
@@ -46,6 +46,13 @@ public class BlockEntity {
     @Column(name = "updated_at", nullable = false, columnDefinition = "TIMESTAMPTZ")
     private OffsetDateTime updatedAt;
 
+    // Assigned by trg_blocks_change_seq on every write, with the writing transaction's id
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    private Long changeSeq;
+
+    @Column(name = "change_xid", insertable = false, updatable = false)
+    private Long changeXid;
+
     @Column(name = "cancelled_at", columnDefinition = "TIMESTAMPTZ")
     private OffsetDateTime cancelledAt;
 
@@ -55,9 +55,4 @@ public class BlockRepositoryAdapter implements BlockRepository {
                 .map(mapper::toDomain)
                 .collect(Collectors.toList());
     }
-
-    @Override
-    public boolean existsActiveBlockInRange(OffsetDateTime startAt, OffsetDateTime endAt) {
-        return jpaRepository.existsActiveBlockInRange(startAt, endAt);
-    }
 }
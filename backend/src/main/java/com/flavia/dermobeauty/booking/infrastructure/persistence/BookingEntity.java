@@ -66,6 +66,10 @@ public class BookingEntity {
     @Column(name = "duration_minutes", nullable = false)
     private Integer durationMinutes;
 
+    // start_at + duration_minutes (also recomputed by the collision trigger)
+    @Column(name = "end_at", nullable = false, columnDefinition = "TIMESTAMPTZ")
+    private OffsetDateTime endAt;
+
     // Status tracking
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
@@ -79,6 +83,9 @@ public class BookingEntity {
     @Column(name = "mercadopago_preference_id", length = 200)
     private String mercadoPagoPreferenceId;
 
+    @Column(name = "mercadopago_preference_created_at")
+    private LocalDateTime mercadoPagoPreferenceCreatedAt;
+
     @Column(name = "mercadopago_payment_id", length = 200)
     private String mercadoPagoPaymentId;
 
@@ -92,6 +99,13 @@ public class BookingEntity {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // Assigned by trg_bookings_change_seq on every write, with the writing transaction's id
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    private Long changeSeq;
+
+    @Column(name = "change_xid", insertable = false, updatable = false)
+    private Long changeXid;
+
     @Column(name = "confirmed_at")
     private LocalDateTime confirmedAt;
 
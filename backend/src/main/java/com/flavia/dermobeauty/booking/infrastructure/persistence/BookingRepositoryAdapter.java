@@ -1,14 +1,17 @@
 package com.flavia.dermobeauty.booking.infrastructure.persistence;
 
+import com.flavia.dermobeauty.booking.domain.AgendaCollision;
 import com.flavia.dermobeauty.booking.domain.Booking;
 import com.flavia.dermobeauty.booking.domain.BookingRepository;
 import com.flavia.dermobeauty.booking.domain.BookingStatus;
 import com.flavia.dermobeauty.booking.infrastructure.mapper.BookingMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalTime;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -60,8 +63,21 @@ public class BookingRepositoryAdapter implements BookingRepository {
     }
 
     @Override
-    public boolean isTimeSlotAvailable(LocalDate date, LocalTime startTime, LocalTime endTime) {
-        return !jpaRepository.existsOverlappingBooking(date, startTime, endTime);
+    public boolean confirmPayment(String bookingNumber, String paymentId, BigDecimal amount) {
+        return jpaRepository.confirmPayment(bookingNumber, paymentId, amount, LocalDateTime.now()) == 1;
+    }
+
+    @Override
+    @Transactional
+    public void updateMercadoPagoPreference(Long bookingId, String preferenceId, LocalDateTime createdAt) {
+        jpaRepository.updateMercadoPagoPreference(bookingId, preferenceId, createdAt);
+    }
+
+    @Override
+    public AgendaCollision findCollision(OffsetDateTime startAt, OffsetDateTime endAt, Long excludeBookingId) {
+        // -1 never matches a real id and avoids binding an untyped NULL
+        long excludeId = excludeBookingId != null ? excludeBookingId : -1L;
+        return AgendaCollision.valueOf(jpaRepository.findCollision(startAt, endAt, excludeId));
     }
 
     @Override
@@ -0,0 +1,58 @@
+package com.flavia.dermobeauty.booking.infrastructure.persistence;
+
+import com.flavia.dermobeauty.booking.application.port.CalendarEventQuery;
+import com.flavia.dermobeauty.booking.web.dto.CalendarEventResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Adapter that implements the CalendarEventQuery port with JPQL constructor projections.
+ * Rows never become managed entities, so nothing accumulates in the persistence context.
+ */
+@Component
+@RequiredArgsConstructor
+public class CalendarEventQueryAdapter implements CalendarEventQuery {
+
+    private final JpaBookingRepository bookingRepository;
+    private final JpaBlockRepository blockRepository;
+
+    @Override
+    public List<CalendarEventResponse> findBookingEvents(OffsetDateTime from, OffsetDateTime to, boolean includeCancelled) {
+        return bookingRepository.findCalendarEvents(from, to, includeCancelled);
+    }
+
+    @Override
+    public List<CalendarEventResponse> findBlockEvents(OffsetDateTime from, OffsetDateTime to, boolean includeCancelled) {
+        return blockRepository.findCalendarEvents(from, to, includeCancelled);
+    }
+
+    @Override
+    public Stream<CalendarEventResponse> streamBookingEvents(OffsetDateTime from, OffsetDateTime to, boolean includeCancelled) {
+        return bookingRepository.streamCalendarEvents(from, to, includeCancelled);
+    }
+
+    @Override
+    public Stream<CalendarEventResponse> streamBlockEvents(OffsetDateTime from, OffsetDateTime to, boolean includeCancelled) {
+        return blockRepository.streamCalendarEvents(from, to, includeCancelled);
+    }
+
+    @Override
+    public List<CalendarEventResponse> findBookingChanges(long fromXid, long toXid, int limit) {
+        return bookingRepository.findCalendarChanges(fromXid, toXid, PageRequest.ofSize(limit));
+    }
+
+    @Override
+    public List<CalendarEventResponse> findBlockChanges(long fromXid, long toXid, int limit) {
+        return blockRepository.findCalendarChanges(fromXid, toXid, PageRequest.ofSize(limit));
+    }
+
+    @Override
+    public long changeHorizon() {
+        return bookingRepository.findAgendaChangeHorizon();
+    }
+}
@@ -1,14 +1,20 @@
 package com.flavia.dermobeauty.booking.infrastructure.persistence;
 
 import com.flavia.dermobeauty.booking.domain.BlockStatus;
+import com.flavia.dermobeauty.booking.web.dto.CalendarEventResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for BlockEntity.
@@ -16,6 +22,13 @@ import java.util.Optional;
 @Repository
 public interface JpaBlockRepository extends JpaRepository<BlockEntity, Long> {
 
+    String CALENDAR_EVENTS_QUERY = "SELECT new com.flavia.dermobeauty.booking.web.dto.CalendarEventResponse(" +
+            "b.id, b.startAt, b.endAt, b.status, b.blockNumber, b.reason) " +
+            "FROM BlockEntity b WHERE " +
+            "b.startAt < :to AND b.endAt > :from " +
+            "AND (:includeCancelled = true OR b.status != 'CANCELLED') " +
+            "ORDER BY b.startAt ASC";
+
     Optional<BlockEntity> findByBlockNumber(String blockNumber);
 
     /**
@@ -31,22 +44,45 @@ public interface JpaBlockRepository extends JpaRepository<BlockEntity, Long> {
             @Param("includeCancelled") boolean includeCancelled);
 
     /**
-     * Find active blocks that overlap with a time range.
+     * Calendar events for blocks in a date range, selecting only the rendered columns.
      */
-    @Query("SELECT b FROM BlockEntity b WHERE " +
-            "b.status = 'ACTIVE' " +
-            "AND b.startAt < :endAt AND b.endAt > :startAt")
-    List<BlockEntity> findActiveBlocksInRange(
-            @Param("startAt") OffsetDateTime startAt,
-            @Param("endAt") OffsetDateTime endAt);
+    @Query(CALENDAR_EVENTS_QUERY)
+    List<CalendarEventResponse> findCalendarEvents(
+            @Param("from") OffsetDateTime from,
+            @Param("to") OffsetDateTime to,
+            @Param("includeCancelled") boolean includeCancelled);
 
     /**
-     * Check if any active block exists in a time range.
+     * Cursor variant of {@link #findCalendarEvents}.
      */
-    @Query("SELECT COUNT(b) > 0 FROM BlockEntity b WHERE " +
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(CALENDAR_EVENTS_QUERY)
+    Stream<CalendarEventResponse> streamCalendarEvents(
+            @Param("from") OffsetDateTime from,
+            @Param("to") OffsetDateTime to,
+            @Param("includeCancelled") boolean includeCancelled);
+
+    /**
+     * Blocks written by transactions with ids in [{@code fromXid}, {@code toXid}), in transaction
+     * then change order. Cancelled rows are included. Served by idx_blocks_change_xid.
+     */
+    @Query("SELECT new com.flavia.dermobeauty.booking.web.dto.CalendarEventResponse(" +
+            "b.id, b.startAt, b.endAt, b.status, b.blockNumber, b.reason, b.changeSeq, b.changeXid) " +
+            "FROM BlockEntity b WHERE b.changeXid >= :fromXid AND b.changeXid < :toXid " +
+            "ORDER BY b.changeXid, b.changeSeq")
+    List<CalendarEventResponse> findCalendarChanges(
+            @Param("fromXid") long fromXid,
+            @Param("toXid") long toXid,
+            Pageable pageable
+    );
+
+    /**
+     * Find active blocks that overlap with a time range.
+     */
+    @Query("SELECT b FROM BlockEntity b WHERE " +
             "b.status = 'ACTIVE' " +
             "AND b.startAt < :endAt AND b.endAt > :startAt")
-    boolean existsActiveBlockInRange(
+    List<BlockEntity> findActiveBlocksInRange(
             @Param("startAt") OffsetDateTime startAt,
             @Param("endAt") OffsetDateTime endAt);
 }
@@ -1,16 +1,24 @@
 package com.flavia.dermobeauty.booking.infrastructure.persistence;
 
 import com.flavia.dermobeauty.booking.domain.BookingStatus;
+import com.flavia.dermobeauty.booking.web.dto.CalendarEventResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalTime;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for BookingEntity.
@@ -19,30 +27,81 @@ import java.util.Optional;
 @Repository
 public interface JpaBookingRepository extends JpaRepository<BookingEntity, Long> {
 
+    String CALENDAR_EVENTS_QUERY = "SELECT new com.flavia.dermobeauty.booking.web.dto.CalendarEventResponse(" +
+            "b.id, b.startAt, b.endAt, b.status, b.bookingNumber, b.serviceName, b.customerName, b.paymentStatus) " +
+            "FROM BookingEntity b WHERE b.startAt >= :from AND b.startAt <= :to " +
+            "AND (:includeCancelled = true OR b.status != 'CANCELLED') ORDER BY b.startAt";
+
     Optional<BookingEntity> findByBookingNumber(String bookingNumber);
 
     Optional<BookingEntity> findByMercadoPagoPaymentId(String paymentId);
 
+    /**
+     * Conditional payment confirmation; the row count tells whether this call won.
+     */
+    @Modifying
+    @Query(value = """
+           UPDATE bookings
+           SET mercadopago_payment_id = :paymentId,
+               payment_status = 'PAID',
+               status = 'CONFIRMED',
+               confirmed_at = :now,
+               updated_at = :now
+           WHERE booking_number = :bookingNumber
+           AND mercadopago_payment_id IS NULL
+           AND payment_status <> 'PAID'
+           AND status <> 'CANCELLED'
+           AND amount = :amount
+           """, nativeQuery = true)
+    int confirmPayment(
+            @Param("bookingNumber") String bookingNumber,
+            @Param("paymentId") String paymentId,
+            @Param("amount") BigDecimal amount,
+            @Param("now") LocalDateTime now
+    );
+
+    @Modifying
+    @Query("""
+           UPDATE BookingEntity b
+           SET b.mercadoPagoPreferenceId = :preferenceId,
+               b.mercadoPagoPreferenceCreatedAt = :createdAt
+           WHERE b.id = :id
+           """)
+    int updateMercadoPagoPreference(
+            @Param("id") Long id,
+            @Param("preferenceId") String preferenceId,
+            @Param("createdAt") LocalDateTime createdAt
+    );
+
     List<BookingEntity> findByStatus(BookingStatus status);
 
     List<BookingEntity> findByBookingDateAndStatusNot(LocalDate bookingDate, BookingStatus status);
 
-    // Un turno se solapa si: (StartA < EndB) y (StartB < EndA)
+    // Un rango se solapa si: (StartA < EndB) y (StartB < EndA)
     // NOTA: No filtramos por serviceId porque hay un solo recurso (Flavia) que atiende todos los servicios
+    // Served by idx_blocks_active and idx_bookings_occupying_range
     @Query(value = """
-           SELECT CASE WHEN COUNT(*) > 0 THEN true ELSE false END
-           FROM bookings b
-           WHERE b.booking_date = :date
-           AND b.status != 'CANCELLED'
-           AND (
-               b.booking_time < :endTime
-               AND :startTime < (b.booking_time + (b.duration_minutes * interval '1 minute'))
-           )
+           SELECT CASE
+               WHEN EXISTS (
+                   SELECT 1 FROM blocks bl
+                   WHERE bl.status = 'ACTIVE'
+                   AND bl.start_at < :endAt
+                   AND bl.end_at > :startAt
+               ) THEN 'BLOCK'
+               WHEN EXISTS (
+                   SELECT 1 FROM bookings b
+                   WHERE b.status IN ('PENDING', 'CONFIRMED')
+                   AND b.id <> :excludeId
+                   AND b.start_at < :endAt
+                   AND b.end_at > :startAt
+               ) THEN 'BOOKING'
+               ELSE 'NONE'
+           END
            """, nativeQuery = true)
-    boolean existsOverlappingBooking(
-            @Param("date") LocalDate date,
-            @Param("startTime") LocalTime startTime,
-            @Param("endTime") LocalTime endTime
+    String findCollision(
+            @Param("startAt") OffsetDateTime startAt,
+            @Param("endAt") OffsetDateTime endAt,
+            @Param("excludeId") long excludeId
     );
 
     /**
@@ -62,4 +121,46 @@ public interface JpaBookingRepository extends JpaRepository<BookingEntity, Long>
             @Param("from") OffsetDateTime from,
             @Param("to") OffsetDateTime to
     );
+
+    /**
+     * Calendar events for bookings in date range, selecting only the rendered columns.
+     */
+    @Query(CALENDAR_EVENTS_QUERY)
+    List<CalendarEventResponse> findCalendarEvents(
+            @Param("from") OffsetDateTime from,
+            @Param("to") OffsetDateTime to,
+            @Param("includeCancelled") boolean includeCancelled
+    );
+
+    /**
+     * Cursor variant of {@link #findCalendarEvents}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(CALENDAR_EVENTS_QUERY)
+    Stream<CalendarEventResponse> streamCalendarEvents(
+            @Param("from") OffsetDateTime from,
+            @Param("to") OffsetDateTime to,
+            @Param("includeCancelled") boolean includeCancelled
+    );
+
+    /**
+     * Bookings written by transactions with ids in [{@code fromXid}, {@code toXid}), in transaction
+     * then change order. Cancelled rows are included. Served by idx_bookings_change_xid.
+     */
+    @Query("SELECT new com.flavia.dermobeauty.booking.web.dto.CalendarEventResponse(" +
+            "b.id, b.startAt, b.endAt, b.status, b.bookingNumber, b.serviceName, b.customerName, b.paymentStatus, " +
+            "b.changeSeq, b.changeXid) FROM BookingEntity b " +
+            "WHERE b.changeXid >= :fromXid AND b.changeXid < :toXid ORDER BY b.changeXid, b.changeSeq")
+    List<CalendarEventResponse> findCalendarChanges(
+            @Param("fromXid") long fromXid,
+            @Param("toXid") long toXid,
+            Pageable pageable
+    );
+
+    /**
+     * Oldest transaction id still in flight (the next one to be assigned when none is).
+     * Every transaction that has not committed yet has an id at or above this value.
+     */
+    @Query(value = "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)", nativeQuery = true)
+    long findAgendaChangeHorizon();
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.flavia.dermobeauty.booking.infrastructure.reporting;
+
+import com.flavia.dermobeauty.booking.application.port.BookingReportRecorder;
+import com.flavia.dermobeauty.booking.domain.Booking;
+import com.flavia.dermobeauty.reporting.repository.SalesRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Adapter that records bookings in the daily sales rollups, by booking creation day.
+ */
+@Component
+@RequiredArgsConstructor
+public class RollupBookingReportRecorder implements BookingReportRecorder {
+
+    private final SalesRollupRepository salesRollupRepository;
+
+    @Override
+    public void bookingPaid(Booking booking) {
+        record(booking, 1);
+    }
+
+    @Override
+    public void bookingCancelled(Booking booking) {
+        record(booking, -1);
+    }
+
+    private void record(Booking booking, int sign) {
+        BigDecimal amount = booking.getAmount() != null ? booking.getAmount() : BigDecimal.ZERO;
+        salesRollupRepository.addBooking(booking.getCreatedAt().toLocalDate(), sign,
+                booking.getServiceId(), booking.getServiceName(), amount);
+    }
+}
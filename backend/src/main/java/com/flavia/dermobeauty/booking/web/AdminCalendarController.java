@@ -1,10 +1,16 @@
 package com.flavia.dermobeauty.booking.web;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.flavia.dermobeauty.booking.application.service.BookingHistoryService;
 import com.flavia.dermobeauty.booking.application.usecase.CancelBlockUseCase;
 import com.flavia.dermobeauty.booking.application.usecase.CreateBlockUseCase;
+import com.flavia.dermobeauty.booking.application.usecase.GetCalendarChangesUseCase;
 import com.flavia.dermobeauty.booking.application.usecase.GetCalendarEventsUseCase;
 import com.flavia.dermobeauty.booking.application.usecase.RescheduleBookingUseCase;
+import com.flavia.dermobeauty.booking.application.usecase.StreamCalendarEventsUseCase;
 import com.flavia.dermobeauty.booking.application.usecase.UpdateBookingCustomerUseCase;
 import com.flavia.dermobeauty.booking.domain.Block;
 import com.flavia.dermobeauty.booking.domain.Booking;
@@ -12,6 +18,7 @@ import com.flavia.dermobeauty.booking.domain.BookingHistory;
 import com.flavia.dermobeauty.booking.web.dto.BlockResponse;
 import com.flavia.dermobeauty.booking.web.dto.BookingHistoryResponse;
 import com.flavia.dermobeauty.booking.web.dto.BookingResponse;
+import com.flavia.dermobeauty.booking.web.dto.CalendarChangesResponse;
 import com.flavia.dermobeauty.booking.web.dto.CalendarEventResponse;
 import com.flavia.dermobeauty.booking.web.dto.CreateBlockRequest;
 import com.flavia.dermobeauty.booking.web.dto.RescheduleBookingRequest;
@@ -22,9 +29,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -39,11 +50,14 @@ import java.util.List;
 public class AdminCalendarController {
 
     private final GetCalendarEventsUseCase getCalendarEventsUseCase;
+    private final StreamCalendarEventsUseCase streamCalendarEventsUseCase;
+    private final GetCalendarChangesUseCase getCalendarChangesUseCase;
     private final CreateBlockUseCase createBlockUseCase;
     private final CancelBlockUseCase cancelBlockUseCase;
     private final RescheduleBookingUseCase rescheduleBookingUseCase;
     private final UpdateBookingCustomerUseCase updateBookingCustomerUseCase;
     private final BookingHistoryService bookingHistoryService;
+    private final ObjectMapper objectMapper;
 
     // ==================== CALENDAR ====================
 
@@ -68,6 +82,66 @@ public class AdminCalendarController {
         return ResponseEntity.ok(ApiResponse.success(events));
     }
 
+    /**
+     * Stream calendar events for a date range as NDJSON (one event per line).
+     * Same events and order as GET /calendar, without the ApiResponse envelope;
+     * memory use is constant regardless of range size.
+     *
+     * @param from start date (required)
+     * @param to end date (required, inclusive)
+     * @param includeCancelled if true, includes cancelled events (default: false)
+     */
+    @GetMapping(value = "/calendar/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCalendarEvents(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean includeCancelled) {
+
+        log.info("GET /api/admin/calendar/stream from={} to={} includeCancelled={}", from, to, includeCancelled);
+
+        ObjectWriter writer = objectMapper.writerFor(CalendarEventResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                long count = streamCalendarEventsUseCase.execute(from, to, includeCancelled, event -> {
+                    try {
+                        writer.writeValue(generator, event);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                if (count > 0) {
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Get bookings and blocks created, updated or cancelled after a version.
+     * Call once without {@code since} to get the current version, then poll with
+     * the returned version; repeat immediately while {@code hasMore} is true.
+     *
+     * @param since last version seen (optional)
+     * @return changed events in change order plus the new version
+     */
+    @GetMapping("/calendar/changes")
+    public ResponseEntity<ApiResponse<CalendarChangesResponse>> getCalendarChanges(
+            @RequestParam(required = false) Long since) {
+
+        log.debug("GET /api/admin/calendar/changes since={}", since);
+
+        CalendarChangesResponse changes = getCalendarChangesUseCase.execute(since);
+
+        return ResponseEntity.ok(ApiResponse.success(changes));
+    }
+
     // ==================== BLOCKS ====================
 
     /**
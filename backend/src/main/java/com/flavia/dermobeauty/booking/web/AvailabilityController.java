@@ -9,7 +9,9 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/public/availability")
@@ -26,4 +28,29 @@ public class AvailabilityController {
         List<LocalTime> slots = getAvailableSlotsUseCase.execute(serviceId, date);
         return ResponseEntity.ok(ApiResponse.success(slots));
     }
-}
\ No newline at end of file
+
+    /**
+     * Available slots for every day in [from, to] (max 60 days), keyed by date.
+     */
+    @GetMapping("/range")
+    public ResponseEntity<ApiResponse<Map<LocalDate, List<LocalTime>>>> getAvailabilityRange(
+            @RequestParam Long serviceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        Map<LocalDate, List<LocalTime>> slots = getAvailableSlotsUseCase.executeRange(serviceId, from, to);
+        return ResponseEntity.ok(ApiResponse.success(slots));
+    }
+
+    /**
+     * Number of available slots per day of a month (month as yyyy-MM), keyed by date.
+     */
+    @GetMapping("/month")
+    public ResponseEntity<ApiResponse<Map<LocalDate, Integer>>> getMonthAvailability(
+            @RequestParam Long serviceId,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+
+        Map<LocalDate, Integer> counts = getAvailableSlotsUseCase.executeMonth(serviceId, month);
+        return ResponseEntity.ok(ApiResponse.success(counts));
+    }
+}
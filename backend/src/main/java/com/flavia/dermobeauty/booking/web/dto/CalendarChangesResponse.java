@@ -0,0 +1,23 @@
+package com.flavia.dermobeauty.booking.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Calendar delta: events written after the requested version, plus the
+ * version to send on the next poll.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CalendarChangesResponse {
+
+    private long version;
+    private List<CalendarEventResponse> events;
+    private boolean hasMore;
+}
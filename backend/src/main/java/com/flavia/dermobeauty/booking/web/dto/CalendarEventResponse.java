@@ -1,8 +1,11 @@
 package com.flavia.dermobeauty.booking.web.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.flavia.dermobeauty.booking.domain.Block;
+import com.flavia.dermobeauty.booking.domain.BlockStatus;
 import com.flavia.dermobeauty.booking.domain.Booking;
+import com.flavia.dermobeauty.booking.domain.BookingStatus;
 import com.flavia.dermobeauty.booking.domain.PaymentStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -43,6 +46,65 @@ public class CalendarEventResponse {
     private String blockNumber;
     private String reason;
 
+    // Delta sync only: agenda change sequence of the row
+    private Long changeSeq;
+
+    // Delta sync only: id of the transaction that wrote the row (the sync cursor)
+    @JsonIgnore
+    private Long changeXid;
+
+    /**
+     * JPQL projection constructor for booking rows.
+     */
+    public CalendarEventResponse(Long id, OffsetDateTime startAt, OffsetDateTime endAt, BookingStatus status,
+                                 String bookingNumber, String serviceName, String customerName,
+                                 PaymentStatus paymentStatus) {
+        this(id, startAt, endAt, status, bookingNumber, serviceName, customerName, paymentStatus, null, null);
+    }
+
+    /**
+     * JPQL projection constructor for booking rows, with their change sequence and transaction.
+     */
+    public CalendarEventResponse(Long id, OffsetDateTime startAt, OffsetDateTime endAt, BookingStatus status,
+                                 String bookingNumber, String serviceName, String customerName,
+                                 PaymentStatus paymentStatus, Long changeSeq, Long changeXid) {
+        this.type = EventType.BOOKING;
+        this.id = id;
+        this.startAt = startAt;
+        this.endAt = endAt;
+        this.status = status.name();
+        this.bookingNumber = bookingNumber;
+        this.serviceName = serviceName;
+        this.customerName = customerName;
+        this.paymentStatus = paymentStatus;
+        this.changeSeq = changeSeq;
+        this.changeXid = changeXid;
+    }
+
+    /**
+     * JPQL projection constructor for block rows.
+     */
+    public CalendarEventResponse(Long id, OffsetDateTime startAt, OffsetDateTime endAt, BlockStatus status,
+                                 String blockNumber, String reason) {
+        this(id, startAt, endAt, status, blockNumber, reason, null, null);
+    }
+
+    /**
+     * JPQL projection constructor for block rows, with their change sequence and transaction.
+     */
+    public CalendarEventResponse(Long id, OffsetDateTime startAt, OffsetDateTime endAt, BlockStatus status,
+                                 String blockNumber, String reason, Long changeSeq, Long changeXid) {
+        this.type = EventType.BLOCK;
+        this.id = id;
+        this.startAt = startAt;
+        this.endAt = endAt;
+        this.status = status.name();
+        this.blockNumber = blockNumber;
+        this.reason = reason;
+        this.changeSeq = changeSeq;
+        this.changeXid = changeXid;
+    }
+
     /**
      * Create CalendarEventResponse from Booking domain.
      */
@@ -42,10 +42,15 @@ public class ProductEntity {
     @Column(name = "offer_price", precision = 10, scale = 2)
     private BigDecimal offerPrice;
 
+    // Written on insert only; later changes are relative updates (ProductRepository, hot stock journal)
     @Builder.Default
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     private Integer stock = 0;
 
+    // Hot product mode (V19), switched in the database
+    @Column(name = "hot_stock", insertable = false, updatable = false)
+    private Boolean hotStock;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     @ToString.Exclude
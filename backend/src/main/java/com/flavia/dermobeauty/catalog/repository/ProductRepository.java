@@ -33,4 +33,21 @@ public interface ProductRepository extends JpaRepository<ProductEntity, Long> {
     @Query("UPDATE ProductEntity p SET p.stock = p.stock - :quantity WHERE p.id = :id AND p.stock >= :quantity")
     int decrementStock(@Param("id") Long id, @Param("quantity") Integer quantity);
 
+    /**
+     * Live stock: products.stock plus hot stock journal deltas not flushed yet.
+     */
+    @Query(value = """
+           SELECT p.stock + COALESCE((SELECT SUM(j.delta) FROM stock_journal j WHERE j.product_id = p.id), 0)
+           FROM products p WHERE p.id = :id
+           """, nativeQuery = true)
+    int findLiveStock(@Param("id") Long id);
+
+    /**
+     * Relative stock change for products not in hot stock mode (never below zero).
+     */
+    @Modifying
+    @Query(value = "UPDATE products SET stock = GREATEST(stock + :delta, 0), updated_at = NOW() " +
+            "WHERE id = :id AND NOT hot_stock", nativeQuery = true)
+    int adjustStock(@Param("id") Long id, @Param("delta") int delta);
+
 }
@@ -8,6 +8,7 @@ import com.flavia.dermobeauty.catalog.repository.ProductRepository;
 import com.flavia.dermobeauty.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -27,6 +28,7 @@ public class ProductCatalogService {
 
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<ProductDto> getAllActive() {
@@ -154,7 +156,6 @@ public class ProductCatalogService {
         entity.setShortDescription(dto.getShortDescription());
         entity.setPrice(dto.getPrice());
         entity.setOfferPrice(dto.getOfferPrice());
-        entity.setStock(dto.getStock());
         entity.setImageUrl(dto.getImageUrl());
         entity.setIsFeatured(dto.getIsFeatured());
         entity.setIsOffer(dto.getIsOffer());
@@ -162,7 +163,21 @@ public class ProductCatalogService {
         entity.setIsActive(dto.getIsActive());
 
         ProductEntity updated = productRepository.save(entity);
-        return ProductDto.fromEntity(updated);
+        ProductDto result = ProductDto.fromEntity(updated);
+
+        // Stock is applied as a delta against the live value, never written back from this read
+        if (dto.getStock() != null) {
+            int stockDelta = dto.getStock() - productRepository.findLiveStock(id);
+            if (stockDelta != 0) {
+                if (Boolean.TRUE.equals(entity.getHotStock())) {
+                    eventPublisher.publishEvent(new ProductStockAdjustedEvent(id, stockDelta));
+                } else {
+                    productRepository.adjustStock(id, stockDelta);
+                }
+            }
+            result.setStock(dto.getStock());
+        }
+        return result;
     }
 
     @Transactional
@@ -0,0 +1,11 @@
+package com.flavia.dermobeauty.catalog.service;
+
+/**
+ * Published inside the editing transaction when an admin edit changes the
+ * stock of a hot product. Listeners must journal the delta in that transaction.
+ *
+ * @param productId the product
+ * @param delta     new stock minus live stock
+ */
+public record ProductStockAdjustedEvent(Long productId, int delta) {
+}
@@ -0,0 +1,17 @@
+package com.flavia.dermobeauty.config.domain;
+
+import java.time.LocalTime;
+
+/**
+ * Opening hours for one day of the week. Closed days have no times.
+ */
+public record BusinessHours(boolean enabled, LocalTime openTime, LocalTime closeTime) {
+
+    public static BusinessHours closed() {
+        return new BusinessHours(false, null, null);
+    }
+
+    public static BusinessHours open(LocalTime openTime, LocalTime closeTime) {
+        return new BusinessHours(true, openTime, closeTime);
+    }
+}
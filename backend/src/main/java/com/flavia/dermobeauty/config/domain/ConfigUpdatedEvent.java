@@ -0,0 +1,7 @@
+package com.flavia.dermobeauty.config.domain;
+
+/**
+ * Raised after an app_config entry has been written.
+ */
+public record ConfigUpdatedEvent(String key) {
+}
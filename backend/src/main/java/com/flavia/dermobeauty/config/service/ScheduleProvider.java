@@ -0,0 +1,124 @@
+package com.flavia.dermobeauty.config.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flavia.dermobeauty.config.domain.BusinessHours;
+import com.flavia.dermobeauty.config.domain.ConfigEntry;
+import com.flavia.dermobeauty.config.domain.ConfigUpdatedEvent;
+import com.flavia.dermobeauty.config.repository.ConfigRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.TextStyle;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Holds the weekly schedule ("schedule.weekly") pre-parsed in memory.
+ *
+ * The snapshot is built at startup and rebuilt only when the config key is
+ * written, so availability and the public schedule endpoint never touch the
+ * database or re-parse JSON. Readers always see one complete snapshot.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScheduleProvider {
+
+    public static final String SCHEDULE_CONFIG_KEY = "schedule.weekly";
+
+    // Fallback values if config is missing or invalid
+    private static final BusinessHours FALLBACK_HOURS = BusinessHours.open(LocalTime.of(9, 0), LocalTime.of(19, 0));
+
+    private final ConfigRepository configRepository;
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot = new Snapshot(null, Collections.emptyMap());
+
+    @PostConstruct
+    public void load() {
+        String rawSchedule = configRepository.findByKey(SCHEDULE_CONFIG_KEY)
+                .map(ConfigEntry::getValue)
+                .orElse(null);
+        snapshot = new Snapshot(rawSchedule, parse(rawSchedule));
+        log.info("Weekly schedule loaded ({} days configured)", snapshot.hours().size());
+    }
+
+    /**
+     * Runs before other listeners of the same event so caches flushed on a
+     * schedule change are refilled from the new table. Reloads after commit
+     * so the committed value is what gets read.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onConfigUpdated(ConfigUpdatedEvent event) {
+        if (SCHEDULE_CONFIG_KEY.equals(event.key())) {
+            load();
+        }
+    }
+
+    public BusinessHours getBusinessHours(DayOfWeek dayOfWeek) {
+        return snapshot.hours().getOrDefault(dayOfWeek, FALLBACK_HOURS);
+    }
+
+    /**
+     * Raw JSON as stored in app_config, if the key exists.
+     */
+    public Optional<String> getRawSchedule() {
+        return Optional.ofNullable(snapshot.rawSchedule());
+    }
+
+    private Map<DayOfWeek, BusinessHours> parse(String rawSchedule) {
+        if (rawSchedule == null) {
+            log.warn("Schedule config not found, using fallback hours");
+            return Collections.emptyMap();
+        }
+
+        JsonNode scheduleJson;
+        try {
+            scheduleJson = objectMapper.readTree(rawSchedule);
+        } catch (Exception e) {
+            log.error("Error parsing schedule config, using fallback hours", e);
+            return Collections.emptyMap();
+        }
+
+        Map<DayOfWeek, BusinessHours> hours = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            String dayKey = day.getDisplayName(TextStyle.FULL, Locale.ENGLISH).toLowerCase();
+            JsonNode dayConfig = scheduleJson.get(dayKey);
+
+            if (dayConfig == null) {
+                log.warn("No config found for day '{}', using fallback", dayKey);
+                continue;
+            }
+
+            try {
+                if (!dayConfig.get("enabled").asBoolean()) {
+                    hours.put(day, BusinessHours.closed());
+                    continue;
+                }
+
+                LocalTime openTime = LocalTime.parse(dayConfig.get("startTime").asText());
+                LocalTime closeTime = LocalTime.parse(dayConfig.get("endTime").asText());
+                hours.put(day, BusinessHours.open(openTime, closeTime));
+            } catch (Exception e) {
+                log.error("Invalid schedule config for day '{}', using fallback", dayKey, e);
+            }
+        }
+
+        return Collections.unmodifiableMap(hours);
+    }
+
+    private record Snapshot(String rawSchedule, Map<DayOfWeek, BusinessHours> hours) {
+    }
+}
@@ -1,10 +1,12 @@
 package com.flavia.dermobeauty.config.web;
 
 import com.flavia.dermobeauty.config.domain.ConfigEntry;
+import com.flavia.dermobeauty.config.domain.ConfigUpdatedEvent;
 import com.flavia.dermobeauty.config.repository.ConfigRepository;
 import com.flavia.dermobeauty.shared.web.ApiResponse;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -16,6 +18,7 @@ import java.util.List;
 public class AdminConfigController {
 
     private final ConfigRepository configRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @GetMapping
     public ResponseEntity<ApiResponse<List<ConfigEntry>>> getAllConfig() {
@@ -36,7 +39,10 @@ public class AdminConfigController {
             config.setDescription("Configuración dinámica");
         }
 
-        return ResponseEntity.ok(ApiResponse.success(configRepository.save(config)));
+        ConfigEntry saved = configRepository.save(config);
+        eventPublisher.publishEvent(new ConfigUpdatedEvent(saved.getKey()));
+
+        return ResponseEntity.ok(ApiResponse.success(saved));
     }
 
     @Data
@@ -1,12 +1,13 @@
 package com.flavia.dermobeauty.config.web;
 
-import com.flavia.dermobeauty.config.domain.ConfigEntry;
-import com.flavia.dermobeauty.config.repository.ConfigRepository;
+import com.flavia.dermobeauty.config.service.ScheduleProvider;
+import com.flavia.dermobeauty.sales.application.port.DeliveryCostCalculator;
 import com.flavia.dermobeauty.shared.web.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -19,38 +20,31 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class PublicConfigController {
 
-    private final ConfigRepository configRepository;
+    private final DeliveryCostCalculator deliveryCostCalculator;
+    private final ScheduleProvider scheduleProvider;
 
     /**
      * Get the weekly schedule configuration.
-     * Returns the schedule.weekly config value as JSON string.
+     * Returns the schedule.weekly config value as JSON string, served from memory.
      */
     @GetMapping("/schedule")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getSchedule() {
-        ConfigEntry scheduleConfig = configRepository.findByKey("schedule.weekly")
-                .orElse(null);
-
         Map<String, Object> result = new HashMap<>();
-        if (scheduleConfig != null) {
-            result.put("schedule", scheduleConfig.getValue());
-        } else {
-            // Default fallback schedule
-            result.put("schedule", getDefaultSchedule());
-        }
+        // Default fallback schedule if the key was never configured
+        result.put("schedule", scheduleProvider.getRawSchedule().orElseGet(this::getDefaultSchedule));
 
         return ResponseEntity.ok(ApiResponse.success(result));
     }
 
     /**
-     * Get free shipping threshold.
+     * Get free shipping threshold ("0" when there is none), served from memory.
      */
     @GetMapping("/shipping")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getShippingConfig() {
-        ConfigEntry freeThreshold = configRepository.findByKey("delivery.free_threshold")
-                .orElse(null);
-
         Map<String, Object> result = new HashMap<>();
-        result.put("freeShippingThreshold", freeThreshold != null ? freeThreshold.getValue() : "0");
+        result.put("freeShippingThreshold", deliveryCostCalculator.getFreeShippingThreshold()
+                .map(BigDecimal::toPlainString)
+                .orElse("0"));
 
         return ResponseEntity.ok(ApiResponse.success(result));
     }
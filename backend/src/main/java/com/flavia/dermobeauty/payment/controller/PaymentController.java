@@ -1,12 +1,7 @@
 package com.flavia.dermobeauty.payment.controller;
 
-import com.flavia.dermobeauty.booking.domain.Booking;
-import com.flavia.dermobeauty.booking.domain.BookingRepository;
 import com.flavia.dermobeauty.payment.dto.PaymentPreferenceResponse;
-import com.flavia.dermobeauty.payment.service.MercadoPagoClient;
-import com.flavia.dermobeauty.sales.domain.Order;
-import com.flavia.dermobeauty.sales.domain.OrderRepository;
-import com.flavia.dermobeauty.shared.exception.ResourceNotFoundException;
+import com.flavia.dermobeauty.payment.service.PaymentPreferenceService;
 import com.flavia.dermobeauty.shared.web.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +11,8 @@ import org.springframework.web.bind.annotation.*;
 /**
  * Controller for payment preference creation.
  * Public endpoints to initiate payment for bookings and orders.
+ * A still-valid preference is returned instead of creating a new one; cancelled or paid
+ * bookings and orders are rejected.
  */
 @Slf4j
 @RestController
@@ -23,9 +20,7 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class PaymentController {
 
-    private final MercadoPagoClient mercadoPagoClient;
-    private final BookingRepository bookingRepository;
-    private final OrderRepository orderRepository;
+    private final PaymentPreferenceService paymentPreferenceService;
 
     @PostMapping("/bookings/{bookingId}/preference")
     public ResponseEntity<ApiResponse<PaymentPreferenceResponse>> createBookingPreference(
@@ -33,36 +28,7 @@ public class PaymentController {
 
         log.info("Creating payment preference for booking: {}", bookingId);
 
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new ResourceNotFoundException("Booking", bookingId));
-
-        String preferenceId = mercadoPagoClient.createPreferenceForBooking(booking);
-
-        // Update booking with preference ID
-        Booking updatedBooking = Booking.builder()
-                .id(booking.getId())
-                .bookingNumber(booking.getBookingNumber())
-                .serviceId(booking.getServiceId())
-                .customerInfo(booking.getCustomerInfo())
-                .timeSlot(booking.getTimeSlot())
-                .durationMinutes(booking.getDurationMinutes())
-                .status(booking.getStatus())
-                .paymentStatus(booking.getPaymentStatus())
-                .mercadoPagoPreferenceId(preferenceId)
-                .mercadoPagoPaymentId(booking.getMercadoPagoPaymentId())
-                .amount(booking.getAmount())
-                .createdAt(booking.getCreatedAt())
-                .updatedAt(booking.getUpdatedAt())
-                .confirmedAt(booking.getConfirmedAt())
-                .cancelledAt(booking.getCancelledAt())
-                .build();
-
-        bookingRepository.save(updatedBooking);
-
-        PaymentPreferenceResponse response = new PaymentPreferenceResponse(
-                preferenceId,
-                "https://www.mercadopago.com.ar/checkout/v1/redirect?pref_id=" + preferenceId
-        );
+        PaymentPreferenceResponse response = paymentPreferenceService.forBooking(bookingId);
 
         return ResponseEntity.ok(ApiResponse.success(response, "Payment preference created"));
     }
@@ -73,35 +39,7 @@ public class PaymentController {
 
         log.info("Creating payment preference for order: {}", orderId);
 
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", orderId));
-
-        String preferenceId = mercadoPagoClient.createPreferenceForOrder(order);
-
-        // Update order with preference ID
-        Order updatedOrder = Order.builder()
-                .id(order.getId())
-                .orderNumber(order.getOrderNumber())
-                .customerInfo(order.getCustomerInfo())
-                .deliveryInfo(order.getDeliveryInfo())
-                .items(order.getItems())
-                .subtotal(order.getSubtotal())
-                .deliveryCost(order.getDeliveryCost())
-                .total(order.getTotal())
-                .status(order.getStatus())
-                .paymentStatus(order.getPaymentStatus())
-                .mercadoPagoPreferenceId(preferenceId)
-                .mercadoPagoPaymentId(order.getMercadoPagoPaymentId())
-                .createdAt(order.getCreatedAt())
-                .updatedAt(order.getUpdatedAt())
-                .build();
-
-        orderRepository.save(updatedOrder);
-
-        PaymentPreferenceResponse response = new PaymentPreferenceResponse(
-                preferenceId,
-                "https://www.mercadopago.com.ar/checkout/v1/redirect?pref_id=" + preferenceId
-        );
+        PaymentPreferenceResponse response = paymentPreferenceService.forOrder(orderId);
 
         return ResponseEntity.ok(ApiResponse.success(response, "Payment preference created"));
     }
@@ -0,0 +1,108 @@
+package com.flavia.dermobeauty.payment.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Inbox of Mercado Pago payment notifications (payment_events table).
+ *
+ * Rows are claimed with FOR UPDATE SKIP LOCKED, so several workers (or
+ * instances) never pick the same event. A claim is a lease: a row left
+ * PROCESSING past locked_until is claimed again.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PaymentEventRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * A claimed event. attempts already counts the current one.
+     */
+    public record PaymentEvent(Long id, String paymentId, int attempts, LocalDateTime receivedAt) {
+    }
+
+    /**
+     * Queues a notification. Returns false when the payment is already waiting in the queue.
+     */
+    public boolean enqueue(String paymentId) {
+        return jdbcTemplate.update("""
+                INSERT INTO payment_events (payment_id) VALUES (?)
+                ON CONFLICT (payment_id) WHERE status = 'PENDING' DO NOTHING
+                """, paymentId) > 0;
+    }
+
+    public List<PaymentEvent> claim(int limit, Duration lease) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        return jdbcTemplate.query("""
+                UPDATE payment_events
+                SET status = 'PROCESSING', attempts = attempts + 1, locked_until = ?
+                WHERE id IN (
+                    SELECT id FROM payment_events
+                    WHERE (status = 'PENDING' AND next_attempt_at <= NOW())
+                       OR (status = 'PROCESSING' AND locked_until < NOW())
+                    ORDER BY id
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING id, payment_id, attempts, received_at
+                """,
+                (rs, rowNum) -> new PaymentEvent(
+                        rs.getLong("id"),
+                        rs.getString("payment_id"),
+                        rs.getInt("attempts"),
+                        rs.getTimestamp("received_at").toLocalDateTime()),
+                Timestamp.valueOf(LocalDateTime.now().plus(lease)), limit);
+    }
+
+    public void markDone(Long id) {
+        jdbcTemplate.update("""
+                UPDATE payment_events
+                SET status = 'DONE', locked_until = NULL, processed_at = NOW()
+                WHERE id = ?
+                """, id);
+    }
+
+    /**
+     * Puts a failed event back in the queue. If a newer notification for the
+     * same payment is already queued, that one will do and this one is closed.
+     */
+    public void retryAt(Long id, LocalDateTime nextAttemptAt, String error) {
+        try {
+            jdbcTemplate.update("""
+                    UPDATE payment_events
+                    SET status = 'PENDING', locked_until = NULL, next_attempt_at = ?, last_error = ?
+                    WHERE id = ?
+                    """, Timestamp.valueOf(nextAttemptAt), error, id);
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update("""
+                    UPDATE payment_events
+                    SET status = 'DONE', locked_until = NULL, processed_at = NOW(), last_error = ?
+                    WHERE id = ?
+                    """, error + " (superseded by a newer notification)", id);
+        }
+    }
+
+    public void markDead(Long id, String error) {
+        jdbcTemplate.update("""
+                UPDATE payment_events
+                SET status = 'DEAD', locked_until = NULL, processed_at = NOW(), last_error = ?
+                WHERE id = ?
+                """, error, id);
+    }
+
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM payment_events WHERE status IN ('PENDING', 'PROCESSING')", Long.class);
+        return count != null ? count : 0;
+    }
+}
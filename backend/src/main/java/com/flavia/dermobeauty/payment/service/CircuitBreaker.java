@@ -0,0 +1,110 @@
+package com.flavia.dermobeauty.payment.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Consecutive-failure circuit breaker.
+ *
+ * CLOSED lets everything through and opens after failureThreshold failures in
+ * a row. OPEN rejects calls until openDuration has passed, then lets a single
+ * trial call through (HALF_OPEN): its success closes the circuit, its failure
+ * opens it again.
+ *
+ * Every state change starts a new generation, and a permit carries the one it
+ * was issued in. Outcomes of permits from an earlier generation are ignored,
+ * so a slow call let through while CLOSED cannot close an OPEN circuit or end
+ * another call's trial when it finally returns.
+ */
+final class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /**
+     * Permission for one call, to be handed back with its outcome.
+     */
+    record Permit(long generation, boolean trial) {
+    }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private long generation;
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private boolean trialInFlight;
+
+    CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * A permit if a call may go out now, null otherwise. A permit must be handed back to
+     * {@link #onSuccess}, {@link #onFailure}, or {@link #onIgnored} if the call was not made.
+     */
+    synchronized Permit tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return new Permit(generation, false);
+            case OPEN:
+                if (clock.instant().isBefore(openedAt.plus(openDuration))) {
+                    return null;
+                }
+                moveTo(State.HALF_OPEN);
+                trialInFlight = true;
+                return new Permit(generation, true);
+            default:
+                // HALF_OPEN: one trial at a time
+                if (trialInFlight) {
+                    return null;
+                }
+                trialInFlight = true;
+                return new Permit(generation, true);
+        }
+    }
+
+    synchronized void onSuccess(Permit permit) {
+        if (permit.generation() != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            moveTo(State.CLOSED);
+        }
+        consecutiveFailures = 0;
+    }
+
+    synchronized void onFailure(Permit permit) {
+        if (permit.generation() != generation) {
+            return;
+        }
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            moveTo(State.OPEN);
+            openedAt = clock.instant();
+        }
+    }
+
+    /**
+     * The permitted call did not reach the provider (e.g. the bulkhead was full).
+     */
+    synchronized void onIgnored(Permit permit) {
+        if (permit.generation() == generation && permit.trial()) {
+            trialInFlight = false;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void moveTo(State next) {
+        state = next;
+        generation++;
+        trialInFlight = false;
+    }
+}
@@ -0,0 +1,199 @@
+package com.flavia.dermobeauty.payment.service;
+
+import com.flavia.dermobeauty.shared.exception.DomainException;
+import com.flavia.dermobeauty.shared.exception.PaymentException;
+import com.mercadopago.core.MPRequestOptions;
+import com.mercadopago.exceptions.MPApiException;
+import com.mercadopago.exceptions.MPException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs every Mercado Pago API call behind a bulkhead, a timeout and a circuit breaker.
+ *
+ * Calls run on a dedicated bounded pool (max-concurrent threads, queue-size
+ * waiting calls; beyond that they are rejected at once), so a Mercado Pago
+ * slowdown holds at most that many threads instead of the servlet pool. A
+ * call waits at most timeout for a free thread and then runs for at most
+ * timeout; the SDK's own connect and socket timeouts are set from the same
+ * settings so an abandoned call also ends. Timeouts of calls that reached
+ * the provider, network errors and 5xx/429 answers count as failures for the
+ * breaker; time spent queued does not. After failure-threshold in a row calls
+ * fail fast for open-duration.
+ *
+ * Client errors (4xx other than 429) surface as a plain DomainException,
+ * since repeating the same request cannot succeed; everything else surfaces
+ * as PaymentException and may be retried. Metric mercadopago.calls is timed
+ * per operation and outcome (success, client_error, error, timeout, rejected,
+ * circuit_open); mercadopago.circuit.state is 0 closed, 1 open, 2 half open.
+ *
+ * A Call is any function of the request options, so the gateway can be
+ * constructed directly (it only needs a MeterRegistry) and driven against a
+ * stub HTTP server without going through the SDK.
+ */
+@Slf4j
+@Component
+public class MercadoPagoGateway {
+
+    private final Duration timeout;
+    private final int connectTimeoutMillis;
+    private final ThreadPoolExecutor executor;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+
+    public MercadoPagoGateway(
+            @Value("${app.mercadopago.timeout:PT10S}") Duration timeout,
+            @Value("${app.mercadopago.connect-timeout:PT3S}") Duration connectTimeout,
+            @Value("${app.mercadopago.max-concurrent:8}") int maxConcurrent,
+            @Value("${app.mercadopago.queue-size:16}") int queueSize,
+            @Value("${app.mercadopago.failure-threshold:5}") int failureThreshold,
+            @Value("${app.mercadopago.open-duration:PT30S}") Duration openDuration,
+            MeterRegistry meterRegistry) {
+        this.timeout = timeout;
+        this.connectTimeoutMillis = (int) connectTimeout.toMillis();
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration, Clock.systemUTC());
+        this.meterRegistry = meterRegistry;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "mercadopago-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        meterRegistry.gauge("mercadopago.circuit.state", circuitBreaker, breaker -> breaker.state().ordinal());
+    }
+
+    /**
+     * A Mercado Pago SDK call, given the request options (timeouts) to pass to the SDK.
+     */
+    @FunctionalInterface
+    public interface Call<T> {
+        T execute(MPRequestOptions options) throws MPException, MPApiException;
+    }
+
+    public <T> T call(String operation, Call<T> call) {
+        long started = System.nanoTime();
+
+        CircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+        if (permit == null) {
+            record(operation, "circuit_open", started);
+            throw new PaymentException("Mercado Pago is temporarily unavailable, please try again in a few minutes");
+        }
+
+        MPRequestOptions options = MPRequestOptions.builder()
+                .connectionTimeout(connectTimeoutMillis)
+                .connectionRequestTimeout(connectTimeoutMillis)
+                .socketTimeout((int) timeout.toMillis())
+                .build();
+
+        AtomicLong startedAt = new AtomicLong();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                startedAt.set(System.nanoTime());
+                return call.execute(options);
+            });
+        } catch (RejectedExecutionException e) {
+            circuitBreaker.onIgnored(permit);
+            record(operation, "rejected", started);
+            log.warn("Mercado Pago bulkhead full, rejecting {}", operation);
+            throw new PaymentException("Mercado Pago is busy, please try again in a few minutes");
+        }
+
+        try {
+            T result;
+            try {
+                result = future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (executor.remove((Runnable) future)) {
+                    // Never left the queue: the provider was not called, so this says nothing about it
+                    circuitBreaker.onIgnored(permit);
+                    record(operation, "rejected", started);
+                    log.warn("Mercado Pago {} waited {} for a free slot, giving up", operation, timeout);
+                    throw new PaymentException("Mercado Pago is busy, please try again in a few minutes");
+                }
+                // Running: its timeout counts from when it left the queue
+                long runningSince = startedAt.get() != 0 ? startedAt.get() : System.nanoTime();
+                long left = runningSince + timeout.toNanos() - System.nanoTime();
+                result = future.get(Math.max(left, 0), TimeUnit.NANOSECONDS);
+            }
+            circuitBreaker.onSuccess(permit);
+            record(operation, "success", started);
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            circuitBreaker.onFailure(permit);
+            record(operation, "timeout", started);
+            log.error("Mercado Pago {} timed out after {}", operation, timeout);
+            throw new PaymentException("Mercado Pago " + operation + " timed out", e);
+        } catch (ExecutionException e) {
+            throw failed(operation, permit, e.getCause(), started);
+        } catch (CancellationException e) {
+            circuitBreaker.onIgnored(permit);
+            record(operation, "error", started);
+            throw new PaymentException("Mercado Pago " + operation + " was cancelled", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            circuitBreaker.onIgnored(permit);
+            Thread.currentThread().interrupt();
+            record(operation, "error", started);
+            throw new PaymentException("Interrupted waiting for Mercado Pago " + operation, e);
+        }
+    }
+
+    private DomainException failed(String operation, CircuitBreaker.Permit permit, Throwable cause, long started) {
+        if (cause instanceof MPApiException apiException) {
+            int status = apiException.getStatusCode();
+            boolean providerFault = status >= 500 || status == 429;
+            if (providerFault) {
+                circuitBreaker.onFailure(permit);
+            } else {
+                // The provider answered; the request was wrong
+                circuitBreaker.onSuccess(permit);
+            }
+            record(operation, providerFault ? "error" : "client_error", started);
+            log.error("Mercado Pago {} failed: {} - {}", operation, status, apiException.getMessage());
+            String message = "Mercado Pago " + operation + " failed: " + apiException.getMessage();
+            return providerFault
+                    ? new PaymentException(message, apiException)
+                    : new DomainException(message, apiException);
+        }
+
+        circuitBreaker.onFailure(permit);
+        record(operation, "error", started);
+        log.error("Mercado Pago {} failed: {}", operation, cause.getMessage());
+        return new PaymentException("Mercado Pago " + operation + " failed: " + cause.getMessage(), cause);
+    }
+
+    private void record(String operation, String outcome, long started) {
+        Timer.builder("mercadopago.calls")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
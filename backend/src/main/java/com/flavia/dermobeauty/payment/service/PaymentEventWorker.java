@@ -0,0 +1,171 @@
+package com.flavia.dermobeauty.payment.service;
+
+import com.flavia.dermobeauty.payment.repository.PaymentEventRepository;
+import com.flavia.dermobeauty.payment.repository.PaymentEventRepository.PaymentEvent;
+import com.flavia.dermobeauty.shared.exception.DomainException;
+import com.flavia.dermobeauty.shared.exception.PaymentException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the payment_events inbox with a bounded pool of workers.
+ *
+ * The poller only claims as many events as there are idle workers, so the
+ * pool never queues more than it can run. A failed event is retried with
+ * exponential backoff (base, 2x base, 4x base... capped at max-backoff); after
+ * max-attempts, or at once for permanent failures (a DomainException other
+ * than PaymentException), it is left DEAD for manual review.
+ *
+ * Metrics: payment.events.queue.depth (pending or in progress, refreshed by the
+ * poller), payment.events.processing (time per attempt), payment.events.latency
+ * (received to done), payment.events.retried and payment.events.dead.
+ */
+@Slf4j
+@Component
+public class PaymentEventWorker {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final PaymentEventRepository paymentEventRepository;
+    private final PaymentNotificationProcessor processor;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+
+    private final ThreadPoolExecutor executor;
+    private final Semaphore idleWorkers;
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final Timer processingTimer;
+    private final Timer latencyTimer;
+    private final Counter retried;
+    private final Counter dead;
+
+    public PaymentEventWorker(
+            PaymentEventRepository paymentEventRepository,
+            PaymentNotificationProcessor processor,
+            @Value("${app.payments.inbox.workers:4}") int workers,
+            @Value("${app.payments.inbox.max-attempts:8}") int maxAttempts,
+            @Value("${app.payments.inbox.base-backoff:PT10S}") Duration baseBackoff,
+            @Value("${app.payments.inbox.max-backoff:PT1H}") Duration maxBackoff,
+            @Value("${app.payments.inbox.lease:PT5M}") Duration lease,
+            MeterRegistry meterRegistry) {
+        this.paymentEventRepository = paymentEventRepository;
+        this.processor = processor;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = baseBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers), runnable -> {
+                    Thread thread = new Thread(runnable, "payment-event-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.idleWorkers = new Semaphore(workers);
+
+        meterRegistry.gauge("payment.events.queue.depth", queueDepth);
+        this.processingTimer = meterRegistry.timer("payment.events.processing");
+        this.latencyTimer = meterRegistry.timer("payment.events.latency");
+        this.retried = meterRegistry.counter("payment.events.retried");
+        this.dead = meterRegistry.counter("payment.events.dead");
+    }
+
+    @Scheduled(fixedDelayString = "${app.payments.inbox.poll-interval:PT1S}")
+    public void poll() {
+        try {
+            queueDepth.set(paymentEventRepository.countPending());
+
+            List<PaymentEvent> events = paymentEventRepository.claim(idleWorkers.availablePermits(), lease);
+            for (PaymentEvent event : events) {
+                // Only this thread acquires, and it claimed no more than the available permits
+                idleWorkers.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        handle(event);
+                    } finally {
+                        idleWorkers.release();
+                    }
+                });
+            }
+        } catch (Exception e) {
+            log.error("Failed to poll payment events", e);
+        }
+    }
+
+    private void handle(PaymentEvent event) {
+        long started = System.nanoTime();
+        try {
+            processor.process(event.paymentId());
+            paymentEventRepository.markDone(event.id());
+            latencyTimer.record(Duration.between(event.receivedAt(), LocalDateTime.now()));
+        } catch (PaymentException e) {
+            fail(event, e, true);
+        } catch (DomainException e) {
+            fail(event, e, false);
+        } catch (Exception e) {
+            fail(event, e, true);
+        } finally {
+            processingTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void fail(PaymentEvent event, Exception cause, boolean retryable) {
+        String error = errorMessage(cause);
+        try {
+            if (retryable && event.attempts() < maxAttempts) {
+                Duration backoff = backoff(event.attempts());
+                paymentEventRepository.retryAt(event.id(), LocalDateTime.now().plus(backoff), error);
+                retried.increment();
+                log.warn("[PAYMENT-EVENT-RETRY] Payment {} attempt {}/{} failed, retrying in {}: {}",
+                        event.paymentId(), event.attempts(), maxAttempts, backoff, error);
+            } else {
+                paymentEventRepository.markDead(event.id(), error);
+                dead.increment();
+                log.error("[PAYMENT-EVENT-DEAD] Payment {} gave up after {} attempts: {}",
+                        event.paymentId(), event.attempts(), error, cause);
+            }
+        } catch (Exception e) {
+            // The lease runs out and the event is claimed again
+            log.error("Failed to record the outcome of payment event {}", event.id(), e);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = baseBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private static String errorMessage(Exception e) {
+        String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Payment event workers still running at shutdown; their events will be claimed again");
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.flavia.dermobeauty.payment.service;
+
+import com.flavia.dermobeauty.booking.application.usecase.ConfirmBookingPaymentUseCase;
+import com.flavia.dermobeauty.sales.application.usecase.ConfirmOrderPaymentUseCase;
+import com.flavia.dermobeauty.shared.exception.DomainException;
+import com.mercadopago.client.payment.PaymentClient;
+import com.mercadopago.resources.payment.Payment;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+/**
+ * Processes one Mercado Pago payment notification taken from the inbox.
+ *
+ * SECURITY MEASURES IMPLEMENTED:
+ * 1. Never trusts webhook payload directly
+ * 2. Always verifies payment status via Mercado Pago API
+ * 3. Validates payment amount matches booking/order
+ * 4. Prevents duplicate payment processing (idempotency, decided by the
+ *    row count of the use cases' conditional UPDATE)
+ * 5. Structured logging for security audit trail
+ * 6. Validates external reference format
+ *
+ * Failures talking to Mercado Pago throw PaymentException and are retried;
+ * other DomainExceptions (including Mercado Pago rejecting the payment id with
+ * a 4xx) and unknown references are permanent (see PaymentEventWorker).
+ */
+@Slf4j
+@Service
+public class PaymentNotificationProcessor {
+
+    private final ConfirmBookingPaymentUseCase confirmBookingPaymentUseCase;
+    private final ConfirmOrderPaymentUseCase confirmOrderPaymentUseCase;
+    private final ProcessedPaymentRegistry processedPaymentRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final MercadoPagoGateway gateway;
+    private final PaymentClient paymentClient = new PaymentClient();
+
+    public PaymentNotificationProcessor(
+            ConfirmBookingPaymentUseCase confirmBookingPaymentUseCase,
+            ConfirmOrderPaymentUseCase confirmOrderPaymentUseCase,
+            ProcessedPaymentRegistry processedPaymentRegistry,
+            PlatformTransactionManager transactionManager,
+            MercadoPagoGateway gateway) {
+        this.confirmBookingPaymentUseCase = confirmBookingPaymentUseCase;
+        this.confirmOrderPaymentUseCase = confirmOrderPaymentUseCase;
+        this.processedPaymentRegistry = processedPaymentRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.gateway = gateway;
+    }
+
+    public void process(String paymentId) {
+        log.info("[WEBHOOK-PROCESSING] Payment ID: {}", paymentId);
+
+        // Already applied: no need to ask Mercado Pago again
+        if (processedPaymentRegistry.isProcessed(paymentId)) {
+            log.info("[DUPLICATE-PAYMENT] Payment {} already processed. Ignoring duplicate notification.", paymentId);
+            return;
+        }
+
+        // CRITICAL SECURITY STEP: Verify payment directly with Mercado Pago API
+        // NEVER trust the webhook payload alone - always verify with the source
+        Payment payment = gateway.call("payment.get",
+                options -> paymentClient.get(Long.parseLong(paymentId), options));
+        log.info("[MP-API-VERIFIED] Payment ID: {}, Status: {}, Amount: {}, External Ref: {}",
+                paymentId,
+                payment.getStatus(),
+                payment.getTransactionAmount(),
+                payment.getExternalReference());
+
+        // SECURITY VALIDATION 1: Only process approved payments
+        if (!"approved".equals(payment.getStatus())) {
+            log.warn("[PAYMENT-NOT-APPROVED] Payment {} has status '{}', expected 'approved'. Skipping.",
+                    paymentId, payment.getStatus());
+            return;
+        }
+
+        // SECURITY VALIDATION 2: Validate external reference exists and format
+        String externalReference = payment.getExternalReference();
+        if (externalReference == null || externalReference.isBlank()) {
+            log.error("[SECURITY-VIOLATION] Payment {} has no external reference", paymentId);
+            throw new DomainException("Payment " + paymentId + " has no external reference");
+        }
+
+        if (!externalReference.matches("^(BOOKING|ORDER)-[A-Z0-9]+$")) {
+            log.error("[SECURITY-VIOLATION] Invalid external reference format: {}", externalReference);
+            throw new DomainException("Invalid external reference format: " + externalReference);
+        }
+
+        // SECURITY VALIDATIONS 3-5 (idempotency, one payment per aggregate, amount) are the
+        // conditions of the confirming UPDATE; the registry row commits with it
+        String number = externalReference.substring(externalReference.indexOf('-') + 1);
+        BigDecimal amount = payment.getTransactionAmount();
+        boolean confirmed;
+        try {
+            confirmed = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                boolean first = externalReference.startsWith("BOOKING-")
+                        ? confirmBookingPaymentUseCase.execute(number, paymentId, amount)
+                        : confirmOrderPaymentUseCase.execute(number, paymentId, amount);
+                processedPaymentRegistry.markProcessed(paymentId, externalReference);
+                return first;
+            }));
+        } catch (DomainException e) {
+            log.error("[SECURITY-VIOLATION] Payment {} rejected for {}: {}", paymentId, externalReference, e.getMessage());
+            throw e;
+        }
+
+        if (confirmed) {
+            log.info("[WEBHOOK-SUCCESS] Payment {} confirmed {} ({} ARS)", paymentId, externalReference, amount);
+        } else {
+            log.warn("[DUPLICATE-PAYMENT] {} already has payment {} applied. Ignoring duplicate notification.",
+                    externalReference, paymentId);
+        }
+    }
+}
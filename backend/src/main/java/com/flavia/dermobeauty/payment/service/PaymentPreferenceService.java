@@ -0,0 +1,126 @@
+package com.flavia.dermobeauty.payment.service;
+
+import com.flavia.dermobeauty.booking.domain.Booking;
+import com.flavia.dermobeauty.booking.domain.BookingRepository;
+import com.flavia.dermobeauty.payment.dto.PaymentPreferenceResponse;
+import com.flavia.dermobeauty.sales.domain.Order;
+import com.flavia.dermobeauty.sales.domain.OrderRepository;
+import com.flavia.dermobeauty.shared.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Hands out Mercado Pago preferences for bookings and orders, idempotently.
+ *
+ * The preference stored on the booking or order is reused while it is younger
+ * than preference-ttl, so retries and checkout reloads cost one lookup instead
+ * of a call to Mercado Pago. The amount it charges is the aggregate's, which
+ * does not change once created. Cancelled or paid bookings and orders get no
+ * preference. Concurrent requests for the same booking or order share one
+ * in-flight creation (in memory, single instance like the other in-process caches).
+ */
+@Slf4j
+@Service
+public class PaymentPreferenceService {
+
+    private static final String CHECKOUT_URL = "https://www.mercadopago.com.ar/checkout/v1/redirect?pref_id=";
+
+    private final MercadoPagoClient mercadoPagoClient;
+    private final BookingRepository bookingRepository;
+    private final OrderRepository orderRepository;
+    private final Duration ttl;
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    public PaymentPreferenceService(
+            MercadoPagoClient mercadoPagoClient,
+            BookingRepository bookingRepository,
+            OrderRepository orderRepository,
+            @Value("${app.mercadopago.preference-ttl:PT24H}") Duration ttl) {
+        this.mercadoPagoClient = mercadoPagoClient;
+        this.bookingRepository = bookingRepository;
+        this.orderRepository = orderRepository;
+        this.ttl = ttl;
+    }
+
+    public PaymentPreferenceResponse forBooking(Long bookingId) {
+        String preferenceId = obtain("BOOKING-" + bookingId, () -> {
+            Booking booking = bookingRepository.findById(bookingId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Booking", bookingId));
+            booking.ensurePayable();
+
+            if (isReusable(booking.getMercadoPagoPreferenceId(), booking.getMercadoPagoPreferenceCreatedAt())) {
+                log.info("Reusing MP preference {} for booking {}",
+                        booking.getMercadoPagoPreferenceId(), booking.getBookingNumber());
+                return booking.getMercadoPagoPreferenceId();
+            }
+
+            String created = mercadoPagoClient.createPreferenceForBooking(booking);
+            bookingRepository.updateMercadoPagoPreference(booking.getId(), created, LocalDateTime.now());
+            return created;
+        });
+
+        return new PaymentPreferenceResponse(preferenceId, CHECKOUT_URL + preferenceId);
+    }
+
+    public PaymentPreferenceResponse forOrder(Long orderId) {
+        String preferenceId = obtain("ORDER-" + orderId, () -> {
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Order", orderId));
+            order.ensurePayable();
+
+            if (isReusable(order.getMercadoPagoPreferenceId(), order.getMercadoPagoPreferenceCreatedAt())) {
+                log.info("Reusing MP preference {} for order {}",
+                        order.getMercadoPagoPreferenceId(), order.getOrderNumber());
+                return order.getMercadoPagoPreferenceId();
+            }
+
+            String created = mercadoPagoClient.createPreferenceForOrder(order);
+            orderRepository.updateMercadoPagoPreference(order.getId(), created, LocalDateTime.now());
+            return created;
+        });
+
+        return new PaymentPreferenceResponse(preferenceId, CHECKOUT_URL + preferenceId);
+    }
+
+    /**
+     * Runs lookup-or-create once per key at a time; concurrent callers get the same result.
+     */
+    private String obtain(String key, Supplier<String> lookupOrCreate) {
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            log.info("Waiting for the MP preference already being obtained for {}", key);
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            String preferenceId = lookupOrCreate.get();
+            mine.complete(preferenceId);
+            return preferenceId;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private boolean isReusable(String preferenceId, LocalDateTime createdAt) {
+        return preferenceId != null
+                && createdAt != null
+                && createdAt.isAfter(LocalDateTime.now().minus(ttl));
+    }
+}
@@ -0,0 +1,120 @@
+package com.flavia.dermobeauty.payment.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mercado Pago payments that already confirmed their booking or order.
+ *
+ * A bounded in-memory LRU set of payment IDs, warmed at startup with the most
+ * recent rows, in front of the processed_payments table (unique on payment_id).
+ * The webhook only asks memory, so a duplicate notification costs one hash
+ * lookup; the worker also asks the table before calling the Mercado Pago API.
+ * Single instance, like the other in-process caches: another instance's
+ * payments are only seen through the table.
+ */
+@Slf4j
+@Component
+public class ProcessedPaymentRegistry {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int cacheSize;
+    private final Set<String> recent;
+    private final Counter suppressedAtWebhook;
+    private final Counter suppressedAtWorker;
+
+    public ProcessedPaymentRegistry(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.payments.processed-cache-size:10000}") int cacheSize,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheSize = cacheSize;
+        this.recent = Collections.newSetFromMap(Collections.synchronizedMap(
+                new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                        return size() > cacheSize;
+                    }
+                }));
+        this.suppressedAtWebhook = meterRegistry.counter("payment.duplicates.suppressed", "stage", "webhook");
+        this.suppressedAtWorker = meterRegistry.counter("payment.duplicates.suppressed", "stage", "worker");
+    }
+
+    @PostConstruct
+    void load() {
+        // Oldest first, so the newest end up as the most recently used
+        jdbcTemplate.query("""
+                SELECT payment_id FROM (
+                    SELECT payment_id, processed_at FROM processed_payments
+                    ORDER BY processed_at DESC
+                    LIMIT ?
+                ) latest
+                ORDER BY processed_at
+                """,
+                (RowCallbackHandler) rs -> recent.add(rs.getString("payment_id")),
+                cacheSize);
+        log.info("Loaded {} processed payment IDs", recent.size());
+    }
+
+    /**
+     * Webhook check: memory only, no I/O on the request thread. A hit is counted as a suppressed duplicate.
+     */
+    public boolean isRecentlyProcessed(String paymentId) {
+        if (recent.contains(paymentId)) {
+            suppressedAtWebhook.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Worker check: memory, then the table. A hit is counted as a suppressed duplicate.
+     */
+    public boolean isProcessed(String paymentId) {
+        boolean processed = recent.contains(paymentId);
+        if (!processed) {
+            processed = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM processed_payments WHERE payment_id = ?)", Boolean.class, paymentId));
+            if (processed) {
+                recent.add(paymentId);
+            }
+        }
+        if (processed) {
+            suppressedAtWorker.increment();
+        }
+        return processed;
+    }
+
+    /**
+     * Call in the transaction that applies the payment; memory follows once it commits.
+     */
+    public void markProcessed(String paymentId, String externalReference) {
+        jdbcTemplate.update("""
+                INSERT INTO processed_payments (payment_id, external_reference) VALUES (?, ?)
+                ON CONFLICT (payment_id) DO NOTHING
+                """, paymentId, externalReference);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recent.add(paymentId);
+                }
+            });
+        } else {
+            recent.add(paymentId);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.flavia.dermobeauty.reporting.controller;
+
+import com.flavia.dermobeauty.reporting.service.CsvExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * CSV exports for accounting. Rows are streamed as they are read.
+ */
+@RestController
+@RequestMapping("/api/admin/export")
+@RequiredArgsConstructor
+public class AdminExportController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private final CsvExportService csvExportService;
+
+    @GetMapping("/orders.csv")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        csvExportService.validateRange(from, to);
+        return csv(fileName("pedidos", from, to), output -> csvExportService.writeOrders(from, to, output));
+    }
+
+    @GetMapping("/bookings.csv")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        csvExportService.validateRange(from, to);
+        return csv(fileName("turnos", from, to), output -> csvExportService.writeBookings(from, to, output));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> csv(String fileName, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
+    private static String fileName(String prefix, LocalDate from, LocalDate to) {
+        return prefix + "_" + (from != null ? from : "inicio") + "_" + (to != null ? to : "hoy") + ".csv";
+    }
+}
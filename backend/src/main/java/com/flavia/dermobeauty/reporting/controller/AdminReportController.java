@@ -0,0 +1,34 @@
+package com.flavia.dermobeauty.reporting.controller;
+
+import com.flavia.dermobeauty.reporting.dto.SalesReportDto;
+import com.flavia.dermobeauty.reporting.service.SalesReportService;
+import com.flavia.dermobeauty.shared.web.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/admin/reports")
+@RequiredArgsConstructor
+public class AdminReportController {
+
+    private final SalesReportService salesReportService;
+
+    @GetMapping("/sales")
+    public ResponseEntity<ApiResponse<SalesReportDto>> getSalesReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(ApiResponse.success(salesReportService.getSalesReport(from, to)));
+    }
+
+    /**
+     * Recomputes the sales rollups from scratch.
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<ApiResponse<Integer>> rebuildReports() {
+        return ResponseEntity.ok(ApiResponse.success(salesReportService.rebuild(), "Reportes recalculados"));
+    }
+}
@@ -0,0 +1,26 @@
+package com.flavia.dermobeauty.reporting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Sales totals of one day.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailySalesDto {
+
+    private LocalDate day;
+    private int orderCount;
+    private BigDecimal orderRevenue;
+    private int unitsSold;
+    private int bookingCount;
+    private BigDecimal bookingRevenue;
+}
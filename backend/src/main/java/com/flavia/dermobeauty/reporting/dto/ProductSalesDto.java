@@ -0,0 +1,23 @@
+package com.flavia.dermobeauty.reporting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Units and revenue of one product over a report range.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSalesDto {
+
+    private Long productId;
+    private String productName;
+    private int units;
+    private BigDecimal revenue;
+}
@@ -0,0 +1,31 @@
+package com.flavia.dermobeauty.reporting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Sales report for a date range (both ends inclusive), read from the daily rollups.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesReportDto {
+
+    private LocalDate from;
+    private LocalDate to;
+    private int orderCount;
+    private BigDecimal orderRevenue;
+    private int unitsSold;
+    private int bookingCount;
+    private BigDecimal bookingRevenue;
+    private List<DailySalesDto> days;
+    private List<ProductSalesDto> topProducts;
+    private List<ServiceBookingsDto> services;
+}
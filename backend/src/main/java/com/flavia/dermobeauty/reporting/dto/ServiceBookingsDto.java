@@ -0,0 +1,23 @@
+package com.flavia.dermobeauty.reporting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Paid bookings and revenue of one service over a report range.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ServiceBookingsDto {
+
+    private Long serviceId;
+    private String serviceName;
+    private int bookingCount;
+    private BigDecimal revenue;
+}
@@ -0,0 +1,198 @@
+package com.flavia.dermobeauty.reporting.repository;
+
+import com.flavia.dermobeauty.reporting.dto.DailySalesDto;
+import com.flavia.dermobeauty.reporting.dto.ProductSalesDto;
+import com.flavia.dermobeauty.reporting.dto.ServiceBookingsDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Daily sales rollups (report_daily_* tables).
+ *
+ * Writes are additive upserts that must run in the transaction of the order or
+ * booking change they record; a negative sign undoes an earlier addition.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SalesRollupRepository {
+
+    private static final String LOCK_ROLLUPS =
+            "LOCK TABLE report_daily_sales, report_daily_products, report_daily_services IN EXCLUSIVE MODE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * One product line of a sale.
+     */
+    public record ProductLine(Long productId, String productName, int units, BigDecimal revenue) {
+    }
+
+    /**
+     * Adds (sign 1) or subtracts (sign -1) a paid order.
+     */
+    public void addOrder(LocalDate day, int sign, BigDecimal total, List<ProductLine> lines) {
+        int units = lines.stream().mapToInt(ProductLine::units).sum();
+        jdbcTemplate.update("""
+                INSERT INTO report_daily_sales (day, order_count, order_revenue, units_sold)
+                VALUES (?, ?, ?, ?)
+                ON CONFLICT (day) DO UPDATE SET
+                    order_count = report_daily_sales.order_count + EXCLUDED.order_count,
+                    order_revenue = report_daily_sales.order_revenue + EXCLUDED.order_revenue,
+                    units_sold = report_daily_sales.units_sold + EXCLUDED.units_sold
+                """,
+                day, sign, total.multiply(BigDecimal.valueOf(sign)), sign * units);
+
+        // Same row order in every transaction, so concurrent payments cannot deadlock
+        List<Object[]> rows = lines.stream()
+                .sorted(Comparator.comparing(ProductLine::productId))
+                .map(line -> new Object[]{
+                        day, line.productId(), line.productName(),
+                        sign * line.units(), line.revenue().multiply(BigDecimal.valueOf(sign))})
+                .toList();
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO report_daily_products (day, product_id, product_name, units, revenue)
+                VALUES (?, ?, ?, ?, ?)
+                ON CONFLICT (day, product_id) DO UPDATE SET
+                    product_name = EXCLUDED.product_name,
+                    units = report_daily_products.units + EXCLUDED.units,
+                    revenue = report_daily_products.revenue + EXCLUDED.revenue
+                """, rows);
+    }
+
+    /**
+     * Adds (sign 1) or subtracts (sign -1) a paid booking.
+     */
+    public void addBooking(LocalDate day, int sign, Long serviceId, String serviceName, BigDecimal amount) {
+        BigDecimal signedAmount = amount.multiply(BigDecimal.valueOf(sign));
+        jdbcTemplate.update("""
+                INSERT INTO report_daily_sales (day, booking_count, booking_revenue)
+                VALUES (?, ?, ?)
+                ON CONFLICT (day) DO UPDATE SET
+                    booking_count = report_daily_sales.booking_count + EXCLUDED.booking_count,
+                    booking_revenue = report_daily_sales.booking_revenue + EXCLUDED.booking_revenue
+                """,
+                day, sign, signedAmount);
+        jdbcTemplate.update("""
+                INSERT INTO report_daily_services (day, service_id, service_name, booking_count, revenue)
+                VALUES (?, ?, ?, ?, ?)
+                ON CONFLICT (day, service_id) DO UPDATE SET
+                    service_name = COALESCE(EXCLUDED.service_name, report_daily_services.service_name),
+                    booking_count = report_daily_services.booking_count + EXCLUDED.booking_count,
+                    revenue = report_daily_services.revenue + EXCLUDED.revenue
+                """,
+                day, serviceId, serviceName, sign, signedAmount);
+    }
+
+    public List<DailySalesDto> findDaily(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("""
+                SELECT day, order_count, order_revenue, units_sold, booking_count, booking_revenue
+                FROM report_daily_sales
+                WHERE day BETWEEN ? AND ?
+                ORDER BY day
+                """,
+                (rs, rowNum) -> DailySalesDto.builder()
+                        .day(rs.getObject("day", LocalDate.class))
+                        .orderCount(rs.getInt("order_count"))
+                        .orderRevenue(rs.getBigDecimal("order_revenue"))
+                        .unitsSold(rs.getInt("units_sold"))
+                        .bookingCount(rs.getInt("booking_count"))
+                        .bookingRevenue(rs.getBigDecimal("booking_revenue"))
+                        .build(),
+                from, to);
+    }
+
+    public List<ProductSalesDto> findTopProducts(LocalDate from, LocalDate to, int limit) {
+        return jdbcTemplate.query("""
+                SELECT product_id, MAX(product_name) AS product_name, SUM(units) AS units, SUM(revenue) AS revenue
+                FROM report_daily_products
+                WHERE day BETWEEN ? AND ?
+                GROUP BY product_id
+                HAVING SUM(units) > 0
+                ORDER BY units DESC, revenue DESC
+                LIMIT ?
+                """,
+                (rs, rowNum) -> ProductSalesDto.builder()
+                        .productId(rs.getLong("product_id"))
+                        .productName(rs.getString("product_name"))
+                        .units(rs.getInt("units"))
+                        .revenue(rs.getBigDecimal("revenue"))
+                        .build(),
+                from, to, limit);
+    }
+
+    public List<ServiceBookingsDto> findServices(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("""
+                SELECT service_id, MAX(service_name) AS service_name,
+                       SUM(booking_count) AS booking_count, SUM(revenue) AS revenue
+                FROM report_daily_services
+                WHERE day BETWEEN ? AND ?
+                GROUP BY service_id
+                HAVING SUM(booking_count) > 0
+                ORDER BY booking_count DESC, revenue DESC
+                """,
+                (rs, rowNum) -> ServiceBookingsDto.builder()
+                        .serviceId(rs.getLong("service_id"))
+                        .serviceName(rs.getString("service_name"))
+                        .bookingCount(rs.getInt("booking_count"))
+                        .revenue(rs.getBigDecimal("revenue"))
+                        .build(),
+                from, to);
+    }
+
+    /**
+     * Recomputes every rollup from orders and bookings. Must run in a transaction:
+     * the tables stay locked against incremental writes until it commits, and
+     * changes that committed before the lock was granted are all counted.
+     *
+     * @return number of days with sales
+     */
+    public int rebuild() {
+        jdbcTemplate.execute(LOCK_ROLLUPS);
+        jdbcTemplate.update("DELETE FROM report_daily_sales");
+        jdbcTemplate.update("DELETE FROM report_daily_products");
+        jdbcTemplate.update("DELETE FROM report_daily_services");
+
+        jdbcTemplate.update("""
+                INSERT INTO report_daily_sales (day, order_count, order_revenue, units_sold)
+                SELECT o.created_at::date, COUNT(*), SUM(o.total),
+                       SUM((SELECT COALESCE(SUM(i.quantity), 0) FROM order_items i WHERE i.order_id = o.id))
+                FROM orders o
+                WHERE o.payment_status = 'PAID' AND o.status <> 'CANCELLED'
+                GROUP BY o.created_at::date
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO report_daily_sales (day, booking_count, booking_revenue)
+                SELECT b.created_at::date, COUNT(*), SUM(b.amount)
+                FROM bookings b
+                WHERE b.payment_status = 'PAID' AND b.status <> 'CANCELLED'
+                GROUP BY b.created_at::date
+                ON CONFLICT (day) DO UPDATE SET
+                    booking_count = EXCLUDED.booking_count,
+                    booking_revenue = EXCLUDED.booking_revenue
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO report_daily_products (day, product_id, product_name, units, revenue)
+                SELECT o.created_at::date, i.product_id, MAX(i.product_name), SUM(i.quantity), SUM(i.subtotal)
+                FROM order_items i
+                JOIN orders o ON o.id = i.order_id
+                WHERE o.payment_status = 'PAID' AND o.status <> 'CANCELLED'
+                GROUP BY o.created_at::date, i.product_id
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO report_daily_services (day, service_id, service_name, booking_count, revenue)
+                SELECT b.created_at::date, b.service_id, MAX(b.service_name), COUNT(*), SUM(b.amount)
+                FROM bookings b
+                WHERE b.payment_status = 'PAID' AND b.status <> 'CANCELLED'
+                GROUP BY b.created_at::date, b.service_id
+                """);
+
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM report_daily_sales", Integer.class);
+        return count != null ? count : 0;
+    }
+}
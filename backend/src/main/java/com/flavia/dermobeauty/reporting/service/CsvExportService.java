@@ -0,0 +1,167 @@
+package com.flavia.dermobeauty.reporting.service;
+
+import com.flavia.dermobeauty.shared.exception.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service for the accounting CSV exports.
+ *
+ * Rows go from a forward-only cursor straight to the output stream: the
+ * PostgreSQL driver only uses a server-side cursor (fetching fetchSize rows at
+ * a time) inside a transaction, so each export runs in its own read-only one.
+ * No entities or domain objects are built, and memory stays flat however many
+ * rows match.
+ */
+@Slf4j
+@Service
+public class CsvExportService {
+
+    private static final ZoneId ARGENTINA_ZONE = ZoneId.of("America/Argentina/Buenos_Aires");
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public CsvExportService(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Orders created between from and to (inclusive, both optional), oldest first.
+     */
+    public void writeOrders(LocalDate from, LocalDate to, OutputStream output) throws IOException {
+        export("orders", """
+                SELECT order_number, created_at, customer_name, customer_email, customer_whatsapp,
+                       delivery_type, subtotal, delivery_cost, total, status, payment_status,
+                       mercadopago_payment_id
+                FROM orders
+                """, from, to, output,
+                new String[]{"numero", "fecha", "cliente", "email", "whatsapp", "entrega",
+                        "subtotal", "envio", "total", "estado", "estado_pago", "pago_mercadopago"},
+                (csv, rs) -> csv.row(
+                        rs.getString("order_number"),
+                        rs.getTimestamp("created_at").toLocalDateTime(),
+                        rs.getString("customer_name"),
+                        rs.getString("customer_email"),
+                        rs.getString("customer_whatsapp"),
+                        rs.getString("delivery_type"),
+                        rs.getBigDecimal("subtotal"),
+                        rs.getBigDecimal("delivery_cost"),
+                        rs.getBigDecimal("total"),
+                        rs.getString("status"),
+                        rs.getString("payment_status"),
+                        rs.getString("mercadopago_payment_id")));
+    }
+
+    /**
+     * Bookings created between from and to (inclusive, both optional), oldest first.
+     */
+    public void writeBookings(LocalDate from, LocalDate to, OutputStream output) throws IOException {
+        export("bookings", """
+                SELECT booking_number, created_at, start_at, service_name, duration_minutes,
+                       customer_name, customer_email, customer_whatsapp, amount, status,
+                       payment_status, mercadopago_payment_id
+                FROM bookings
+                """, from, to, output,
+                new String[]{"numero", "fecha", "turno", "servicio", "duracion_minutos", "cliente",
+                        "email", "whatsapp", "monto", "estado", "estado_pago", "pago_mercadopago"},
+                (csv, rs) -> {
+                    OffsetDateTime startAt = rs.getObject("start_at", OffsetDateTime.class);
+                    csv.row(
+                            rs.getString("booking_number"),
+                            rs.getTimestamp("created_at").toLocalDateTime(),
+                            startAt != null ? startAt.atZoneSameInstant(ARGENTINA_ZONE).toLocalDateTime() : null,
+                            rs.getString("service_name"),
+                            rs.getInt("duration_minutes"),
+                            rs.getString("customer_name"),
+                            rs.getString("customer_email"),
+                            rs.getString("customer_whatsapp"),
+                            rs.getBigDecimal("amount"),
+                            rs.getString("status"),
+                            rs.getString("payment_status"),
+                            rs.getString("mercadopago_payment_id"));
+                });
+    }
+
+    private void export(String name, String select, LocalDate from, LocalDate to, OutputStream output,
+                        String[] header, RowWriter rowWriter) throws IOException {
+        StringBuilder sql = new StringBuilder(select).append(" WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (from != null) {
+            sql.append(" AND created_at >= ?");
+            params.add(Timestamp.valueOf(from.atStartOfDay()));
+        }
+        if (to != null) {
+            sql.append(" AND created_at < ?");
+            params.add(Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+        }
+        sql.append(" ORDER BY created_at, id");
+
+        PreparedStatementCreator statement = connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        };
+
+        long started = System.currentTimeMillis();
+        long[] rows = {0};
+        output.write(UTF8_BOM);  // Excel needs it to read accented names as UTF-8
+        Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+        CsvWriter csv = new CsvWriter(writer);
+        csv.row((Object[]) header);
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(statement, (RowCallbackHandler) rs -> {
+            rowWriter.write(csv, rs);
+            rows[0]++;
+        }));
+        writer.flush();
+
+        log.info("Exported {} {} ({} to {}) in {} ms", rows[0], name, from, to, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Call before the response starts streaming: errors after that cannot change the status code.
+     */
+    public void validateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new ValidationException("La fecha 'hasta' no puede ser anterior a la fecha 'desde'");
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(CsvWriter csv, ResultSet rs) throws SQLException;
+    }
+}
@@ -0,0 +1,54 @@
+package com.flavia.dermobeauty.reporting.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Minimal RFC 4180 CSV writer.
+ *
+ * Fields are quoted when they contain a separator, quote or line break.
+ * Text starting with a formula character is prefixed with an apostrophe so
+ * spreadsheets show it instead of evaluating it.
+ */
+final class CsvWriter {
+
+    private final Writer out;
+
+    CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    void row(Object... values) {
+        try {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(escape(values[i]));
+            }
+            out.write("\r\n");
+        } catch (IOException e) {
+            // Usually the client went away; abort the export
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof Number) {
+            return value.toString();
+        }
+
+        String text = value.toString();
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
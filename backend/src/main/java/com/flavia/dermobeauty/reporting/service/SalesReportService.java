@@ -0,0 +1,69 @@
+package com.flavia.dermobeauty.reporting.service;
+
+import com.flavia.dermobeauty.reporting.dto.DailySalesDto;
+import com.flavia.dermobeauty.reporting.dto.SalesReportDto;
+import com.flavia.dermobeauty.reporting.repository.SalesRollupRepository;
+import com.flavia.dermobeauty.shared.exception.ValidationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Service for the admin sales reports.
+ * Reads only the daily rollups, so a report costs one row per day in the range.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesReportService {
+
+    private static final int TOP_PRODUCTS = 10;
+    private static final long MAX_RANGE_DAYS = 366;
+
+    private final SalesRollupRepository salesRollupRepository;
+
+    @Transactional(readOnly = true)
+    public SalesReportDto getSalesReport(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new ValidationException("La fecha 'hasta' no puede ser anterior a la fecha 'desde'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new ValidationException("El rango del reporte no puede superar " + MAX_RANGE_DAYS + " días");
+        }
+        log.debug("Building sales report from {} to {}", from, to);
+
+        List<DailySalesDto> days = salesRollupRepository.findDaily(from, to);
+        return SalesReportDto.builder()
+                .from(from)
+                .to(to)
+                .orderCount(days.stream().mapToInt(DailySalesDto::getOrderCount).sum())
+                .orderRevenue(days.stream().map(DailySalesDto::getOrderRevenue).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .unitsSold(days.stream().mapToInt(DailySalesDto::getUnitsSold).sum())
+                .bookingCount(days.stream().mapToInt(DailySalesDto::getBookingCount).sum())
+                .bookingRevenue(days.stream().map(DailySalesDto::getBookingRevenue).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .days(days)
+                .topProducts(salesRollupRepository.findTopProducts(from, to, TOP_PRODUCTS))
+                .services(salesRollupRepository.findServices(from, to))
+                .build();
+    }
+
+    /**
+     * Recomputes the rollups from orders and bookings (after a manual data fix,
+     * or if they are ever suspected to have drifted).
+     *
+     * @return number of days with sales
+     */
+    @Transactional
+    public int rebuild() {
+        long started = System.currentTimeMillis();
+        int days = salesRollupRepository.rebuild();
+        log.info("Sales rollups rebuilt: {} days in {} ms", days, System.currentTimeMillis() - started);
+        return days;
+    }
+}
@@ -1,20 +1,43 @@
 package com.flavia.dermobeauty.sales.application.port;
 
+import com.flavia.dermobeauty.sales.domain.DeliveryInfo;
 import com.flavia.dermobeauty.sales.domain.DeliveryType;
 
 import java.math.BigDecimal;
+import java.util.Optional;
 
 /**
  * Port (interface) for calculating delivery costs.
- * Will be implemented by infrastructure reading from config.
+ * Implementations answer from memory: quoting never touches the database.
  */
 public interface DeliveryCostCalculator {
 
     /**
-     * Calculate delivery cost based on delivery type.
+     * Quote delivery to a destination.
      *
      * @param deliveryType Type of delivery
-     * @return Delivery cost (0 for PICKUP)
+     * @param province     Destination province (home delivery)
+     * @param postalCode   Destination postal code, may be null
+     * @param subtotal     Order subtotal, used for the free shipping threshold
+     * @return quote (cost 0 for PICKUP)
      */
-    BigDecimal calculate(DeliveryType deliveryType);
+    DeliveryQuote quote(DeliveryType deliveryType, String province, String postalCode, BigDecimal subtotal);
+
+    /**
+     * Delivery cost to charge for an order.
+     */
+    default BigDecimal calculate(DeliveryInfo deliveryInfo, BigDecimal subtotal) {
+        return quote(deliveryInfo.getDeliveryType(), deliveryInfo.getProvince(), deliveryInfo.getPostalCode(),
+                subtotal).cost();
+    }
+
+    /**
+     * Subtotal from which delivery is free, if configured.
+     */
+    Optional<BigDecimal> getFreeShippingThreshold();
+
+    /**
+     * Reload rates and settings. Inside a transaction the reload happens after commit.
+     */
+    void reload();
 }
@@ -0,0 +1,19 @@
+package com.flavia.dermobeauty.sales.application.port;
+
+import java.math.BigDecimal;
+
+/**
+ * Delivery cost for a destination and order subtotal.
+ *
+ * @param cost                  cost to charge (0 for pickup or free shipping)
+ * @param baseCost              rate for the destination, before free shipping
+ * @param freeShippingThreshold subtotal from which delivery is free, or null if there is none
+ * @param freeShipping          whether the subtotal reached the threshold
+ */
+public record DeliveryQuote(
+        BigDecimal cost,
+        BigDecimal baseCost,
+        BigDecimal freeShippingThreshold,
+        boolean freeShipping
+) {
+}
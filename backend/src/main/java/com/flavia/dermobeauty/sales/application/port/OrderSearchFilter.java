@@ -0,0 +1,24 @@
+package com.flavia.dermobeauty.sales.application.port;
+
+import com.flavia.dermobeauty.booking.domain.PaymentStatus;
+import com.flavia.dermobeauty.sales.domain.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters for the admin order search. Null fields do not filter.
+ *
+ * @param status          order status
+ * @param paymentStatus   payment status
+ * @param createdFrom     created at or after (inclusive)
+ * @param createdTo       created before (exclusive)
+ * @param customerPrefix  lower-case prefix of the customer email or name
+ */
+public record OrderSearchFilter(
+        OrderStatus status,
+        PaymentStatus paymentStatus,
+        LocalDateTime createdFrom,
+        LocalDateTime createdTo,
+        String customerPrefix
+) {
+}
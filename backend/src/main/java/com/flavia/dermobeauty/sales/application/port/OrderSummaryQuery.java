@@ -0,0 +1,27 @@
+package com.flavia.dermobeauty.sales.application.port;
+
+import com.flavia.dermobeauty.sales.web.dto.OrderSummaryResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Port (interface) for the admin order table read model.
+ * Rows are projected straight from the orders table, without loading items.
+ */
+public interface OrderSummaryQuery {
+
+    Page<OrderSummaryResponse> findSummaries(Pageable pageable);
+
+    /**
+     * Orders matching {@code filter}, newest first by (createdAt, id), starting
+     * strictly after the given position (keyset pagination).
+     *
+     * @param afterCreatedAt createdAt of the last row already returned, or null for the first page
+     * @param afterId        id of the last row already returned, or null for the first page
+     * @param limit          maximum number of rows
+     */
+    List<OrderSummaryResponse> search(OrderSearchFilter filter, LocalDateTime afterCreatedAt, Long afterId, int limit);
+}
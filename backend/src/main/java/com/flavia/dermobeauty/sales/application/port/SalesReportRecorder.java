@@ -0,0 +1,20 @@
+package com.flavia.dermobeauty.sales.application.port;
+
+import com.flavia.dermobeauty.sales.domain.Order;
+
+/**
+ * Port (interface) for keeping the sales report rollups up to date.
+ * Must be called in the transaction that changes the order.
+ */
+public interface SalesReportRecorder {
+
+    /**
+     * Count a paid order.
+     */
+    void orderPaid(Order order);
+
+    /**
+     * Stop counting an order that was paid and is now cancelled.
+     */
+    void orderCancelled(Order order);
+}
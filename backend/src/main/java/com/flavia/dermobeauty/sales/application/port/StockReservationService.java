@@ -0,0 +1,50 @@
+package com.flavia.dermobeauty.sales.application.port;
+
+import java.util.Map;
+
+/**
+ * Port (interface) for time-limited stock reservations.
+ * A pending order holds its quantities until it is paid, cancelled or the hold expires.
+ */
+public interface StockReservationService {
+
+    /**
+     * Stock that can still be reserved for a product: stock minus unexpired reservations.
+     *
+     * @param productId Product ID
+     * @param stock     Stock as read from the product
+     *                  (hot products ignore it and use their live counter)
+     * @return available quantity, never negative
+     */
+    int getAvailableStock(Long productId, int stock);
+
+    /**
+     * Reserve quantities for an order. Must run inside the transaction that creates the order.
+     *
+     * @param orderId    Order ID
+     * @param quantities Quantity per product ID
+     * @throws com.flavia.dermobeauty.sales.domain.InsufficientStockException when stock minus
+     *         active reservations does not cover a quantity; nothing is reserved in that case
+     */
+    void reserve(Long orderId, Map<Long, Integer> quantities);
+
+    /**
+     * Mark an order's active reservations as consumed (payment confirmed).
+     * Must run in the transaction that decrements the stock.
+     *
+     * @param orderId    Order ID
+     * @param quantities The order's quantity per product ID
+     * @return quantities that still have to be decremented through {@link StockService#decrementAll}
+     *         (reservations of hot products decrement their stock when consumed)
+     * @throws com.flavia.dermobeauty.sales.domain.InsufficientStockException when a product has no
+     *         unexpired reservation and its stock is now reserved by other orders
+     */
+    Map<Long, Integer> consume(Long orderId, Map<Long, Integer> quantities);
+
+    /**
+     * Release an order's active reservations (order cancelled).
+     *
+     * @param orderId Order ID
+     */
+    void release(Long orderId);
+}
@@ -1,5 +1,7 @@
 package com.flavia.dermobeauty.sales.application.port;
 
+import java.util.Map;
+
 /**
  * Port (interface) for stock management operations.
  * Will be implemented by the catalog infrastructure.
@@ -23,4 +25,14 @@ public interface StockService {
      * @param quantity  Quantity to decrement
      */
     void decrementStock(Long productId, Integer quantity);
+
+    /**
+     * Decrement stock for several products at once, all or nothing.
+     * Should be called after payment confirmation.
+     *
+     * @param quantities Quantity to decrement per product ID
+     * @throws com.flavia.dermobeauty.sales.domain.InsufficientStockException listing every product that fell short;
+     *         no stock is changed in that case
+     */
+    void decrementAll(Map<Long, Integer> quantities);
 }
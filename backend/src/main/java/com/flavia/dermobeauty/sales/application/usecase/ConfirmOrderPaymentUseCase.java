@@ -1,17 +1,33 @@
 package com.flavia.dermobeauty.sales.application.usecase;
 
+import com.flavia.dermobeauty.booking.domain.PaymentStatus;
 import com.flavia.dermobeauty.sales.application.port.NotificationService;
+import com.flavia.dermobeauty.sales.application.port.SalesReportRecorder;
+import com.flavia.dermobeauty.sales.application.port.StockReservationService;
 import com.flavia.dermobeauty.sales.application.port.StockService;
 import com.flavia.dermobeauty.sales.domain.Order;
 import com.flavia.dermobeauty.sales.domain.OrderRepository;
+import com.flavia.dermobeauty.sales.domain.OrderStatus;
+import com.flavia.dermobeauty.shared.exception.DomainException;
 import com.flavia.dermobeauty.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Use Case: Confirm order payment.
  * Called from Mercado Pago webhook when payment is approved.
- * Decrements stock and sends confirmation email.
+ *
+ * The order is marked paid with one conditional update (no payment yet, not
+ * cancelled, same total), so concurrent or repeated deliveries of a payment
+ * cannot both win; the row count tells a first delivery from a duplicate. In
+ * the same transaction the winner turns the order's stock reservations into
+ * decrements and counts the sale in the report rollups, then sends the
+ * confirmation email.
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -19,36 +35,64 @@ public class ConfirmOrderPaymentUseCase {
 
     private final OrderRepository orderRepository;
     private final StockService stockService;
+    private final StockReservationService stockReservationService;
+    private final SalesReportRecorder salesReportRecorder;
     private final NotificationService notificationService;
 
-    public Order execute(String paymentId) {
-        log.info("Confirming payment for payment ID: {}", paymentId);
+    /**
+     * @return true if this call confirmed the order, false if the payment was already applied
+     * @throws DomainException if the order cannot take this payment (cancelled, paid by
+     *                         another payment, total mismatch)
+     */
+    @Transactional
+    public boolean execute(String orderNumber, String paymentId, BigDecimal total) {
+        log.info("Confirming payment {} for order: {}", paymentId, orderNumber);
 
-        // Find order by payment ID
-        Order order = orderRepository.findByMercadoPagoPaymentId(paymentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order with payment ID '" + paymentId + "' not found"));
+        if (total == null || !orderRepository.confirmPayment(orderNumber, paymentId, total)) {
+            return rejectOrIgnore(orderNumber, paymentId, total);
+        }
 
-        // Confirm payment (domain logic)
-        order.confirmPayment(paymentId);
+        Order confirmed = orderRepository.findByOrderNumber(orderNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("Order '" + orderNumber + "' not found"));
 
-        // Decrement stock for all items
-        order.getItems().forEach(item -> {
-            stockService.decrementStock(item.getProductId(), item.getQuantity());
-            log.info("Decremented stock for product {}: {} units", item.getProductId(), item.getQuantity());
-        });
+        // Consume the reservation, then decrement what it did not cover (all or nothing)
+        Map<Long, Integer> quantities = new HashMap<>();
+        confirmed.getItems().forEach(item -> quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum));
+        stockService.decrementAll(stockReservationService.consume(confirmed.getId(), quantities));
 
-        // Persist
-        Order updated = orderRepository.save(order);
-        log.info("Payment confirmed for order: {}", updated.getOrderNumber());
+        salesReportRecorder.orderPaid(confirmed);
+        log.info("Payment confirmed for order: {}", orderNumber);
 
         // Send confirmation email (async, non-blocking)
         try {
-            notificationService.sendOrderConfirmation(updated);
+            notificationService.sendOrderConfirmation(confirmed);
         } catch (Exception e) {
-            log.error("Failed to send order confirmation email for {}", updated.getOrderNumber(), e);
+            log.error("Failed to send order confirmation email for {}", orderNumber, e);
             // Don't throw - email failure should not break payment confirmation
         }
 
-        return updated;
+        return true;
+    }
+
+    /**
+     * The update matched nothing: work out why from the current row.
+     */
+    private boolean rejectOrIgnore(String orderNumber, String paymentId, BigDecimal total) {
+        Order order = orderRepository.findByOrderNumber(orderNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("Order '" + orderNumber + "' not found"));
+
+        if (paymentId.equals(order.getMercadoPagoPaymentId())) {
+            log.warn("Order {} already has payment {} applied, ignoring duplicate", orderNumber, paymentId);
+            return false;
+        }
+        if (order.getMercadoPagoPaymentId() != null || order.getPaymentStatus() == PaymentStatus.PAID) {
+            throw new DomainException("Order " + orderNumber + " already paid with payment "
+                    + order.getMercadoPagoPaymentId() + ", rejecting payment " + paymentId);
+        }
+        if (order.getStatus() == OrderStatus.CANCELLED) {
+            throw new DomainException("Cannot confirm payment for cancelled order " + orderNumber);
+        }
+        throw new DomainException("Payment amount " + total + " does not match order "
+                + orderNumber + " total " + order.getTotal());
     }
 }
@@ -4,21 +4,27 @@ import com.flavia.dermobeauty.booking.domain.PaymentStatus;
 import com.flavia.dermobeauty.catalog.entity.ProductEntity;
 import com.flavia.dermobeauty.catalog.repository.ProductRepository;
 import com.flavia.dermobeauty.sales.application.port.DeliveryCostCalculator;
-import com.flavia.dermobeauty.sales.application.port.StockService;
+import com.flavia.dermobeauty.sales.application.port.StockReservationService;
 import com.flavia.dermobeauty.sales.domain.*;
 import com.flavia.dermobeauty.shared.exception.ResourceNotFoundException;
 import com.flavia.dermobeauty.shared.exception.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Use Case: Create a new order.
  * Validates stock availability, calculates delivery cost, and creates order in PENDING status.
+ * The ordered quantities are reserved for a limited time in the same transaction.
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -26,9 +32,10 @@ public class CreateOrderUseCase {
 
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
-    private final StockService stockService;
     private final DeliveryCostCalculator deliveryCostCalculator;
+    private final StockReservationService stockReservationService;
 
+    @Transactional
     public Order execute(
             String customerName,
             String customerEmail,
@@ -43,17 +50,28 @@ public class CreateOrderUseCase {
 
         log.info("Creating order for customer: {}", customerEmail);
 
-        // Validate stock availability for all items
+        // Load every referenced product in one query
+        Map<Long, ProductEntity> products = productRepository.findAllById(
+                        itemRequests.stream().map(item -> item.productId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(ProductEntity::getId, Function.identity()));
+
+        // Validate stock availability for all items (repeated products are added up)
+        // Available = stock - quantities held by other pending orders
+        Map<Long, Integer> requestedQuantities = new LinkedHashMap<>();
         for (OrderItemRequest itemRequest : itemRequests) {
-            if (!stockService.checkAvailability(itemRequest.productId, itemRequest.quantity)) {
-                ProductEntity product = productRepository.findById(itemRequest.productId)
-                        .orElseThrow(() -> new ResourceNotFoundException("Product", itemRequest.productId));
+            requestedQuantities.merge(itemRequest.productId, itemRequest.quantity, Integer::sum);
+        }
+        requestedQuantities.forEach((productId, quantity) -> {
+            ProductEntity product = getProduct(products, productId);
+            int available = stockReservationService.getAvailableStock(productId, product.getStock());
+            if (available < quantity) {
                 throw new ValidationException(
                         String.format("Insufficient stock for product '%s'. Requested: %d, Available: %d",
-                                product.getName(), itemRequest.quantity, product.getStock())
+                                product.getName(), quantity, available)
                 );
             }
-        }
+        });
 
         // Create value objects
         CustomerInfo customerInfo = new CustomerInfo(customerName, customerEmail, customerWhatsapp);
@@ -67,9 +85,6 @@ public class CreateOrderUseCase {
                 deliveryNotes
         );
 
-        // Calculate delivery cost
-        BigDecimal deliveryCost = deliveryCostCalculator.calculate(deliveryType);
-
         // Create order aggregate
         Order order = Order.builder()
                 .orderNumber(generateOrderNumber())
@@ -77,15 +92,14 @@ public class CreateOrderUseCase {
                 .deliveryInfo(deliveryInfo)
                 .status(OrderStatus.PENDING)
                 .paymentStatus(PaymentStatus.PENDING)
-                .deliveryCost(deliveryCost)
+                .deliveryCost(BigDecimal.ZERO)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
 
         // Add items to order
         for (OrderItemRequest itemRequest : itemRequests) {
-            ProductEntity product = productRepository.findById(itemRequest.productId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Product", itemRequest.productId));
+            ProductEntity product = getProduct(products, itemRequest.productId);
 
             BigDecimal subtotal = OrderItem.calculateSubtotal(product.getPrice(), itemRequest.quantity);
 
@@ -100,17 +114,31 @@ public class CreateOrderUseCase {
             order.addItem(item);
         }
 
-        // Validate and recalculate
-        order.validate();
+        // Delivery cost depends on the destination and, for free shipping, on the subtotal
         order.recalculateTotal();
+        order.setDeliveryCost(deliveryCostCalculator.calculate(deliveryInfo, order.getSubtotal()));
+
+        // Validate
+        order.validate();
 
         // Persist
         Order saved = orderRepository.save(order);
+
+        // Hold the stock until payment (re-checked under row locks)
+        stockReservationService.reserve(saved.getId(), requestedQuantities);
         log.info("Order created successfully: {}", saved.getOrderNumber());
 
         return saved;
     }
 
+    private ProductEntity getProduct(Map<Long, ProductEntity> products, Long productId) {
+        ProductEntity product = products.get(productId);
+        if (product == null) {
+            throw new ResourceNotFoundException("Product", productId);
+        }
+        return product;
+    }
+
     private String generateOrderNumber() {
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
         return "ORD-" + timestamp;
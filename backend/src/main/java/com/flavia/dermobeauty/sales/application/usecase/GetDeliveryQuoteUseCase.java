@@ -0,0 +1,26 @@
+package com.flavia.dermobeauty.sales.application.usecase;
+
+import com.flavia.dermobeauty.sales.application.port.DeliveryCostCalculator;
+import com.flavia.dermobeauty.sales.application.port.DeliveryQuote;
+import com.flavia.dermobeauty.sales.domain.DeliveryType;
+import com.flavia.dermobeauty.shared.exception.ValidationException;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Use Case: Quote delivery for the checkout, before the order is created.
+ * Answered from the in-memory rate table.
+ */
+@RequiredArgsConstructor
+public class GetDeliveryQuoteUseCase {
+
+    private final DeliveryCostCalculator deliveryCostCalculator;
+
+    public DeliveryQuote execute(DeliveryType deliveryType, String province, String postalCode, BigDecimal subtotal) {
+        if (subtotal != null && subtotal.signum() < 0) {
+            throw new ValidationException("El subtotal no puede ser negativo");
+        }
+        return deliveryCostCalculator.quote(deliveryType, province, postalCode, subtotal);
+    }
+}
@@ -0,0 +1,20 @@
+package com.flavia.dermobeauty.sales.application.usecase;
+
+import com.flavia.dermobeauty.sales.domain.DeliveryRate;
+import com.flavia.dermobeauty.sales.domain.DeliveryRateRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Use Case: List delivery rates for the admin panel.
+ */
+@RequiredArgsConstructor
+public class ListDeliveryRatesUseCase {
+
+    private final DeliveryRateRepository deliveryRateRepository;
+
+    public List<DeliveryRate> execute() {
+        return deliveryRateRepository.findAll();
+    }
+}
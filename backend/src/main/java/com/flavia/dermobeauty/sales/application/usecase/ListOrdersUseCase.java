@@ -1,8 +1,10 @@
 package com.flavia.dermobeauty.sales.application.usecase;
 
+import com.flavia.dermobeauty.sales.application.port.OrderSummaryQuery;
 import com.flavia.dermobeauty.sales.domain.Order;
 import com.flavia.dermobeauty.sales.domain.OrderRepository;
 import com.flavia.dermobeauty.sales.domain.OrderStatus;
+import com.flavia.dermobeauty.sales.web.dto.OrderSummaryResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -20,6 +22,7 @@ import java.util.List;
 public class ListOrdersUseCase {
 
     private final OrderRepository orderRepository;
+    private final OrderSummaryQuery orderSummaryQuery;
 
     @Transactional(readOnly = true)
     public List<Order> execute() {
@@ -34,6 +37,16 @@ public class ListOrdersUseCase {
         return orderRepository.findAll(pageable);
     }
 
+    /**
+     * Order table rows without items (one query for the page, one for the count).
+     */
+    @Transactional(readOnly = true)
+    public Page<OrderSummaryResponse> executeSummaries(Pageable pageable) {
+        log.debug("Fetching order summaries with pagination: page={}, size={}",
+                pageable.getPageNumber(), pageable.getPageSize());
+        return orderSummaryQuery.findSummaries(pageable);
+    }
+
     public List<Order> executeByStatus(OrderStatus status) {
         log.debug("Fetching orders with status: {}", status);
         return orderRepository.findByStatus(status);
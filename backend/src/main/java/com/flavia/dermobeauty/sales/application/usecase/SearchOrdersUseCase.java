@@ -0,0 +1,94 @@
+package com.flavia.dermobeauty.sales.application.usecase;
+
+import com.flavia.dermobeauty.booking.domain.PaymentStatus;
+import com.flavia.dermobeauty.sales.application.port.OrderSearchFilter;
+import com.flavia.dermobeauty.sales.application.port.OrderSummaryQuery;
+import com.flavia.dermobeauty.sales.domain.OrderStatus;
+import com.flavia.dermobeauty.sales.web.dto.OrderSearchResponse;
+import com.flavia.dermobeauty.sales.web.dto.OrderSummaryResponse;
+import com.flavia.dermobeauty.shared.exception.ValidationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Use Case: Search orders for the admin panel.
+ *
+ * Keyset pagination on (createdAt, id), newest first: each page seeks past the
+ * last row of the previous one, so deep pages cost the same as the first and
+ * new orders do not shift rows between pages. The cursor is opaque to clients.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SearchOrdersUseCase {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100;
+
+    private final OrderSummaryQuery orderSummaryQuery;
+
+    @Transactional(readOnly = true)
+    public OrderSearchResponse execute(OrderStatus status, PaymentStatus paymentStatus,
+                                       LocalDate from, LocalDate to, String customer,
+                                       String cursor, Integer limit) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new ValidationException("La fecha 'hasta' no puede ser anterior a la fecha 'desde'");
+        }
+
+        int pageSize = limit == null ? DEFAULT_LIMIT : Math.min(Math.max(limit, 1), MAX_LIMIT);
+        String prefix = customer == null || customer.isBlank() ? null : customer.trim().toLowerCase(Locale.ROOT);
+        OrderSearchFilter filter = new OrderSearchFilter(
+                status,
+                paymentStatus,
+                from != null ? from.atStartOfDay() : null,
+                to != null ? to.plusDays(1).atStartOfDay() : null,
+                prefix);
+
+        Position after = cursor == null || cursor.isBlank() ? null : decode(cursor);
+        log.debug("Searching orders: filter={}, after={}, limit={}", filter, after, pageSize);
+
+        // One extra row tells whether there is a next page
+        List<OrderSummaryResponse> rows = orderSummaryQuery.search(
+                filter,
+                after != null ? after.createdAt() : null,
+                after != null ? after.id() : null,
+                pageSize + 1);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            OrderSummaryResponse last = rows.get(pageSize - 1);
+            nextCursor = encode(new Position(last.getCreatedAt(), last.getId()));
+        }
+
+        return OrderSearchResponse.builder()
+                .items(rows)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static String encode(Position position) {
+        String raw = position.createdAt() + "," + position.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int comma = raw.lastIndexOf(',');
+            return new Position(LocalDateTime.parse(raw.substring(0, comma)), Long.parseLong(raw.substring(comma + 1)));
+        } catch (RuntimeException e) {
+            throw new ValidationException("Cursor de búsqueda inválido", e);
+        }
+    }
+
+    private record Position(LocalDateTime createdAt, Long id) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.flavia.dermobeauty.sales.application.usecase;
+
+import com.flavia.dermobeauty.sales.application.port.DeliveryCostCalculator;
+import com.flavia.dermobeauty.sales.domain.DeliveryRate;
+import com.flavia.dermobeauty.sales.domain.DeliveryRateRepository;
+import com.flavia.dermobeauty.shared.exception.ValidationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Use Case: Replace the delivery rate table.
+ * The new table is validated as a whole and takes effect for quotes once committed.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class UpdateDeliveryRatesUseCase {
+
+    private final DeliveryRateRepository deliveryRateRepository;
+    private final DeliveryCostCalculator deliveryCostCalculator;
+
+    @Transactional
+    public List<DeliveryRate> execute(List<DeliveryRate> rates) {
+        // Business rule: one province-wide rate per province, no overlapping postal ranges
+        Set<String> provinceWide = new HashSet<>();
+        for (int i = 0; i < rates.size(); i++) {
+            DeliveryRate rate = rates.get(i);
+            if (rate.isProvinceWide() && !provinceWide.add(DeliveryRate.normalizeProvince(rate.getProvince()))) {
+                throw new ValidationException("Hay más de una tarifa general para " + rate.getProvince());
+            }
+            for (int j = i + 1; j < rates.size(); j++) {
+                if (rate.overlaps(rates.get(j))) {
+                    throw new ValidationException(String.format(
+                            "Los rangos %d-%d y %d-%d de %s se superponen",
+                            rate.getPostalCodeFrom(), rate.getPostalCodeTo(),
+                            rates.get(j).getPostalCodeFrom(), rates.get(j).getPostalCodeTo(), rate.getProvince()));
+                }
+            }
+        }
+
+        List<DeliveryRate> saved = deliveryRateRepository.replaceAll(rates);
+        deliveryCostCalculator.reload();
+        log.info("Delivery rate table replaced: {} rates", saved.size());
+        return saved;
+    }
+}
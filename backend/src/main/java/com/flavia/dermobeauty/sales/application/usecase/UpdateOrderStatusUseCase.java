@@ -1,11 +1,15 @@
 package com.flavia.dermobeauty.sales.application.usecase;
 
+import com.flavia.dermobeauty.booking.domain.PaymentStatus;
+import com.flavia.dermobeauty.sales.application.port.SalesReportRecorder;
+import com.flavia.dermobeauty.sales.application.port.StockReservationService;
 import com.flavia.dermobeauty.sales.domain.Order;
 import com.flavia.dermobeauty.sales.domain.OrderRepository;
 import com.flavia.dermobeauty.sales.domain.OrderStatus;
 import com.flavia.dermobeauty.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Use Case: Update order status.
@@ -16,18 +20,32 @@ import lombok.extern.slf4j.Slf4j;
 public class UpdateOrderStatusUseCase {
 
     private final OrderRepository orderRepository;
+    private final StockReservationService stockReservationService;
+    private final SalesReportRecorder salesReportRecorder;
 
+    @Transactional
     public Order execute(Long orderId, OrderStatus newStatus) {
         log.info("Updating order {} to status: {}", orderId, newStatus);
 
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", orderId));
 
+        // A paid order is counted in the sales reports until it is cancelled
+        boolean countedSale = order.getPaymentStatus() == PaymentStatus.PAID;
+
         // Update status (domain logic validates transition)
         order.updateStatus(newStatus);
 
         // Persist
         Order updated = orderRepository.save(order);
+
+        // A cancelled order no longer holds stock
+        if (newStatus == OrderStatus.CANCELLED) {
+            stockReservationService.release(updated.getId());
+            if (countedSale) {
+                salesReportRecorder.orderCancelled(updated);
+            }
+        }
         log.info("Order status updated: {} -> {}", updated.getOrderNumber(), newStatus);
 
         return updated;
@@ -3,8 +3,12 @@ package com.flavia.dermobeauty.sales.config;
 import com.flavia.dermobeauty.catalog.repository.ProductRepository;
 import com.flavia.dermobeauty.sales.application.port.DeliveryCostCalculator;
 import com.flavia.dermobeauty.sales.application.port.NotificationService;
+import com.flavia.dermobeauty.sales.application.port.OrderSummaryQuery;
+import com.flavia.dermobeauty.sales.application.port.SalesReportRecorder;
+import com.flavia.dermobeauty.sales.application.port.StockReservationService;
 import com.flavia.dermobeauty.sales.application.port.StockService;
 import com.flavia.dermobeauty.sales.application.usecase.*;
+import com.flavia.dermobeauty.sales.domain.DeliveryRateRepository;
 import com.flavia.dermobeauty.sales.domain.OrderRepository;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
@@ -21,27 +25,58 @@ public class SalesConfig {
     public CreateOrderUseCase createOrderUseCase(
             OrderRepository orderRepository,
             ProductRepository productRepository,
-            StockService stockService,
-            DeliveryCostCalculator deliveryCostCalculator) {
-        return new CreateOrderUseCase(orderRepository, productRepository, stockService, deliveryCostCalculator);
+            DeliveryCostCalculator deliveryCostCalculator,
+            StockReservationService stockReservationService) {
+        return new CreateOrderUseCase(orderRepository, productRepository, deliveryCostCalculator,
+                stockReservationService);
     }
 
     @Bean
     public ConfirmOrderPaymentUseCase confirmOrderPaymentUseCase(
             OrderRepository orderRepository,
             StockService stockService,
+            StockReservationService stockReservationService,
+            SalesReportRecorder salesReportRecorder,
             @Qualifier("orderNotificationService") NotificationService notificationService) {
-        return new ConfirmOrderPaymentUseCase(orderRepository, stockService, notificationService);
+        return new ConfirmOrderPaymentUseCase(orderRepository, stockService, stockReservationService,
+                salesReportRecorder, notificationService);
     }
 
     @Bean
-    public UpdateOrderStatusUseCase updateOrderStatusUseCase(OrderRepository orderRepository) {
-        return new UpdateOrderStatusUseCase(orderRepository);
+    public UpdateOrderStatusUseCase updateOrderStatusUseCase(
+            OrderRepository orderRepository,
+            StockReservationService stockReservationService,
+            SalesReportRecorder salesReportRecorder) {
+        return new UpdateOrderStatusUseCase(orderRepository, stockReservationService, salesReportRecorder);
     }
 
     @Bean
-    public ListOrdersUseCase listOrdersUseCase(OrderRepository orderRepository) {
-        return new ListOrdersUseCase(orderRepository);
+    public ListOrdersUseCase listOrdersUseCase(
+            OrderRepository orderRepository,
+            OrderSummaryQuery orderSummaryQuery) {
+        return new ListOrdersUseCase(orderRepository, orderSummaryQuery);
+    }
+
+    @Bean
+    public SearchOrdersUseCase searchOrdersUseCase(OrderSummaryQuery orderSummaryQuery) {
+        return new SearchOrdersUseCase(orderSummaryQuery);
+    }
+
+    @Bean
+    public GetDeliveryQuoteUseCase getDeliveryQuoteUseCase(DeliveryCostCalculator deliveryCostCalculator) {
+        return new GetDeliveryQuoteUseCase(deliveryCostCalculator);
+    }
+
+    @Bean
+    public ListDeliveryRatesUseCase listDeliveryRatesUseCase(DeliveryRateRepository deliveryRateRepository) {
+        return new ListDeliveryRatesUseCase(deliveryRateRepository);
+    }
+
+    @Bean
+    public UpdateDeliveryRatesUseCase updateDeliveryRatesUseCase(
+            DeliveryRateRepository deliveryRateRepository,
+            DeliveryCostCalculator deliveryCostCalculator) {
+        return new UpdateDeliveryRatesUseCase(deliveryRateRepository, deliveryCostCalculator);
     }
 
     @Bean
@@ -0,0 +1,75 @@
+package com.flavia.dermobeauty.sales.domain;
+
+import com.flavia.dermobeauty.shared.exception.ValidationException;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Value Object representing a home delivery rate for a province, optionally
+ * narrowed to a range of numeric postal codes (both ends inclusive).
+ */
+@Value
+public class DeliveryRate {
+    String province;
+    Integer postalCodeFrom;
+    Integer postalCodeTo;
+    BigDecimal cost;
+
+    public DeliveryRate(String province, Integer postalCodeFrom, Integer postalCodeTo, BigDecimal cost) {
+        if (province == null || province.isBlank()) {
+            throw new ValidationException("La provincia es obligatoria");
+        }
+        if ((postalCodeFrom == null) != (postalCodeTo == null)) {
+            throw new ValidationException("El rango de códigos postales debe tener inicio y fin");
+        }
+        if (postalCodeFrom != null && (postalCodeFrom < 0 || postalCodeFrom > postalCodeTo)) {
+            throw new ValidationException("Rango de códigos postales inválido: " + postalCodeFrom + "-" + postalCodeTo);
+        }
+        if (cost == null || cost.compareTo(BigDecimal.ZERO) < 0) {
+            throw new ValidationException("El costo de envío no puede ser negativo");
+        }
+
+        this.province = province.trim();
+        this.postalCodeFrom = postalCodeFrom;
+        this.postalCodeTo = postalCodeTo;
+        this.cost = cost;
+    }
+
+    public boolean isProvinceWide() {
+        return postalCodeFrom == null;
+    }
+
+    public boolean overlaps(DeliveryRate other) {
+        return !isProvinceWide() && !other.isProvinceWide()
+                && normalizeProvince(province).equals(normalizeProvince(other.province))
+                && postalCodeFrom <= other.postalCodeTo && other.postalCodeFrom <= postalCodeTo;
+    }
+
+    /**
+     * Province key for lookups: trimmed, lower-case, without accents ("Córdoba" = "cordoba").
+     */
+    public static String normalizeProvince(String province) {
+        if (province == null) {
+            return "";
+        }
+        String stripped = Normalizer.normalize(province.trim(), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return stripped.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Numeric part of a postal code ("C1425ABC" and "1425" both give 1425), or null if there is none.
+     */
+    public static Integer postalCodeNumber(String postalCode) {
+        if (postalCode == null) {
+            return null;
+        }
+        String digits = postalCode.replaceAll("\\D", "");
+        if (digits.isEmpty() || digits.length() > 9) {
+            return null;
+        }
+        return Integer.parseInt(digits);
+    }
+}
@@ -0,0 +1,20 @@
+package com.flavia.dermobeauty.sales.domain;
+
+import java.util.List;
+
+/**
+ * Repository port (interface) for delivery rates.
+ * The rate table is small and always read or replaced as a whole.
+ */
+public interface DeliveryRateRepository {
+
+    /**
+     * Find all rates.
+     */
+    List<DeliveryRate> findAll();
+
+    /**
+     * Replace the whole rate table.
+     */
+    List<DeliveryRate> replaceAll(List<DeliveryRate> rates);
+}
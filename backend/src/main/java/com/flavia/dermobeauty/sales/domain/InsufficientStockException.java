@@ -0,0 +1,37 @@
+package com.flavia.dermobeauty.sales.domain;
+
+import com.flavia.dermobeauty.shared.exception.DomainException;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Thrown when one or more products do not have enough stock for a decrement.
+ * Lists every product that fell short, not just the first one.
+ */
+public class InsufficientStockException extends DomainException {
+
+    private final List<Shortfall> shortfalls;
+
+    public InsufficientStockException(List<Shortfall> shortfalls) {
+        super("No hay stock suficiente para completar la operación: " + shortfalls.stream()
+                .map(Shortfall::toString)
+                .collect(Collectors.joining(", ")));
+        this.shortfalls = List.copyOf(shortfalls);
+    }
+
+    public List<Shortfall> getShortfalls() {
+        return shortfalls;
+    }
+
+    /**
+     * A product that could not be decremented. {@code available} is 0 when the product does not exist.
+     */
+    public record Shortfall(Long productId, int requested, int available) {
+
+        @Override
+        public String toString() {
+            return String.format("producto %d (pedido %d, disponible %d)", productId, requested, available);
+        }
+    }
+}
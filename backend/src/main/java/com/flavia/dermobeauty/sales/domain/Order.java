@@ -35,6 +35,7 @@ public class Order {
     private OrderStatus status;
     private PaymentStatus paymentStatus;
     private String mercadoPagoPreferenceId;
+    private LocalDateTime mercadoPagoPreferenceCreatedAt;
     private String mercadoPagoPaymentId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -100,6 +101,20 @@ public class Order {
         this.updatedAt = LocalDateTime.now();
     }
 
+    /**
+     * Check that a payment can still be started for this order.
+     * Business rule: cancelled or already paid orders cannot be paid.
+     */
+    public void ensurePayable() {
+        if (this.paymentStatus == PaymentStatus.PAID) {
+            throw new DomainException("Payment already confirmed for order " + orderNumber);
+        }
+
+        if (this.status == OrderStatus.CANCELLED) {
+            throw new DomainException("Cannot pay cancelled order " + orderNumber);
+        }
+    }
+
     /**
      * Update order status.
      * Business rule: cannot update cancelled or certain status transitions.
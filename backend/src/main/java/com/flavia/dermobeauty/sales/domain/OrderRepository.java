@@ -3,6 +3,8 @@ package com.flavia.dermobeauty.sales.domain;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,6 +35,20 @@ public interface OrderRepository {
      */
     Optional<Order> findByMercadoPagoPaymentId(String paymentId);
 
+    /**
+     * Mark an order paid in one conditional update, under the rules of
+     * {@link Order#confirmPayment}: only if it has no payment yet, is not
+     * cancelled and the total matches.
+     *
+     * @return true if this call confirmed it, false if the order did not qualify
+     */
+    boolean confirmPayment(String orderNumber, String paymentId, BigDecimal total);
+
+    /**
+     * Set the Mercado Pago preference ID and when it was created, leaving the rest of the row as it is.
+     */
+    void updateMercadoPagoPreference(Long orderId, String preferenceId, LocalDateTime createdAt);
+
     /**
      * Find all orders (for admin).
      */
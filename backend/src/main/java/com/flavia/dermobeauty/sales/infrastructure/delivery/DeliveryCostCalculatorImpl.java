@@ -1,37 +1,116 @@
 package com.flavia.dermobeauty.sales.infrastructure.delivery;
 
+import com.flavia.dermobeauty.config.domain.ConfigEntry;
+import com.flavia.dermobeauty.config.domain.ConfigUpdatedEvent;
+import com.flavia.dermobeauty.config.repository.ConfigRepository;
 import com.flavia.dermobeauty.sales.application.port.DeliveryCostCalculator;
+import com.flavia.dermobeauty.sales.application.port.DeliveryQuote;
+import com.flavia.dermobeauty.sales.domain.DeliveryRateRepository;
 import com.flavia.dermobeauty.sales.domain.DeliveryType;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.util.Optional;
 
 /**
- * Implementation of DeliveryCostCalculator reading from configuration.
- * For MVP, uses fixed cost from application.yml.
- * Future: could read from database config table.
+ * Implementation of DeliveryCostCalculator backed by an in-memory rate table.
+ *
+ * The delivery_rates table, delivery.fixed_cost (default when no rate matches)
+ * and delivery.free_threshold are loaded into one immutable snapshot at
+ * startup and swapped whole when the rates or either key change, so quotes
+ * and order creation never hit the database.
  */
 @Slf4j
 @Service
 public class DeliveryCostCalculatorImpl implements DeliveryCostCalculator {
 
-    private final BigDecimal fixedDeliveryCost;
+    public static final String FIXED_COST_CONFIG_KEY = "delivery.fixed_cost";
+    public static final String FREE_THRESHOLD_CONFIG_KEY = "delivery.free_threshold";
 
-    public DeliveryCostCalculatorImpl(@Value("${app.delivery.fixed-cost:1500.00}") BigDecimal fixedCost) {
-        this.fixedDeliveryCost = fixedCost;
-        log.info("Delivery cost configured: {}", fixedCost);
+    private final DeliveryRateRepository deliveryRateRepository;
+    private final ConfigRepository configRepository;
+    private final BigDecimal fallbackCost;
+
+    private volatile DeliveryRateTable table;
+
+    public DeliveryCostCalculatorImpl(
+            DeliveryRateRepository deliveryRateRepository,
+            ConfigRepository configRepository,
+            @Value("${app.delivery.fixed-cost:1500.00}") BigDecimal fallbackCost) {
+        this.deliveryRateRepository = deliveryRateRepository;
+        this.configRepository = configRepository;
+        this.fallbackCost = fallbackCost;
+    }
+
+    @PostConstruct
+    public void load() {
+        BigDecimal defaultCost = readAmount(FIXED_COST_CONFIG_KEY).orElse(fallbackCost);
+        BigDecimal threshold = readAmount(FREE_THRESHOLD_CONFIG_KEY)
+                .filter(value -> value.signum() > 0)
+                .orElse(null);
+
+        table = DeliveryRateTable.build(deliveryRateRepository.findAll(), defaultCost, threshold);
+        log.info("Delivery rates loaded: {} rates, default cost {}, free shipping from {}",
+                table.size(), defaultCost, threshold != null ? threshold : "-");
+    }
+
+    @EventListener
+    public void onConfigUpdated(ConfigUpdatedEvent event) {
+        if (FIXED_COST_CONFIG_KEY.equals(event.key()) || FREE_THRESHOLD_CONFIG_KEY.equals(event.key())) {
+            load();
+        }
     }
 
     @Override
-    public BigDecimal calculate(DeliveryType deliveryType) {
+    public void reload() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    load();
+                }
+            });
+        } else {
+            load();
+        }
+    }
+
+    @Override
+    public DeliveryQuote quote(DeliveryType deliveryType, String province, String postalCode, BigDecimal subtotal) {
+        DeliveryRateTable current = table;
+        BigDecimal threshold = current.freeShippingThreshold();
+
         if (deliveryType == DeliveryType.PICKUP) {
             log.debug("Delivery cost for PICKUP: 0.00");
-            return BigDecimal.ZERO;
+            return new DeliveryQuote(BigDecimal.ZERO, BigDecimal.ZERO, threshold, false);
         }
 
-        log.debug("Delivery cost for HOME_DELIVERY: {}", fixedDeliveryCost);
-        return fixedDeliveryCost;
+        BigDecimal baseCost = current.baseCost(province, postalCode);
+        boolean free = threshold != null && subtotal != null && subtotal.compareTo(threshold) >= 0;
+        BigDecimal cost = free ? BigDecimal.ZERO : baseCost;
+        log.debug("Delivery cost for HOME_DELIVERY to {} {}: {} (free shipping: {})",
+                province, postalCode, cost, free);
+        return new DeliveryQuote(cost, baseCost, threshold, free);
+    }
+
+    @Override
+    public Optional<BigDecimal> getFreeShippingThreshold() {
+        return Optional.ofNullable(table.freeShippingThreshold());
+    }
+
+    private Optional<BigDecimal> readAmount(String key) {
+        Optional<String> value = configRepository.findByKey(key).map(ConfigEntry::getValue);
+        try {
+            return value.map(String::trim).map(BigDecimal::new);
+        } catch (NumberFormatException e) {
+            log.warn("Invalid amount in config key {}: '{}', ignoring it", key, value.orElse(""));
+            return Optional.empty();
+        }
     }
 }
@@ -0,0 +1,107 @@
+package com.flavia.dermobeauty.sales.infrastructure.delivery;
+
+import com.flavia.dermobeauty.sales.domain.DeliveryRate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable lookup of delivery rates, built once per rate table version.
+ *
+ * Per province, postal code ranges are kept sorted by start in parallel arrays
+ * (ranges never overlap), so a lookup is one hash probe plus a binary search.
+ */
+final class DeliveryRateTable {
+
+    private final Map<String, ProvinceRates> byProvince;
+    private final BigDecimal defaultCost;
+    private final BigDecimal freeShippingThreshold;
+    private final int size;
+
+    private DeliveryRateTable(Map<String, ProvinceRates> byProvince, BigDecimal defaultCost,
+                              BigDecimal freeShippingThreshold, int size) {
+        this.byProvince = byProvince;
+        this.defaultCost = defaultCost;
+        this.freeShippingThreshold = freeShippingThreshold;
+        this.size = size;
+    }
+
+    /**
+     * @param defaultCost           cost when no rate matches
+     * @param freeShippingThreshold subtotal from which delivery is free, or null for none
+     */
+    static DeliveryRateTable build(List<DeliveryRate> rates, BigDecimal defaultCost, BigDecimal freeShippingThreshold) {
+        Map<String, List<DeliveryRate>> grouped = new HashMap<>();
+        for (DeliveryRate rate : rates) {
+            grouped.computeIfAbsent(DeliveryRate.normalizeProvince(rate.getProvince()), key -> new ArrayList<>())
+                    .add(rate);
+        }
+
+        Map<String, ProvinceRates> byProvince = new HashMap<>();
+        grouped.forEach((province, provinceRates) -> byProvince.put(province, ProvinceRates.of(provinceRates)));
+        return new DeliveryRateTable(Map.copyOf(byProvince), defaultCost, freeShippingThreshold, rates.size());
+    }
+
+    /**
+     * Rate for a destination: postal range, then province-wide rate, then the default.
+     */
+    BigDecimal baseCost(String province, String postalCode) {
+        ProvinceRates rates = byProvince.get(DeliveryRate.normalizeProvince(province));
+        if (rates == null) {
+            return defaultCost;
+        }
+        BigDecimal cost = rates.find(DeliveryRate.postalCodeNumber(postalCode));
+        return cost != null ? cost : defaultCost;
+    }
+
+    BigDecimal freeShippingThreshold() {
+        return freeShippingThreshold;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private record ProvinceRates(BigDecimal provinceCost, int[] from, int[] to, BigDecimal[] costs) {
+
+        static ProvinceRates of(List<DeliveryRate> rates) {
+            BigDecimal provinceCost = null;
+            List<DeliveryRate> ranges = new ArrayList<>();
+            for (DeliveryRate rate : rates) {
+                if (rate.isProvinceWide()) {
+                    provinceCost = rate.getCost();
+                } else {
+                    ranges.add(rate);
+                }
+            }
+            ranges.sort(Comparator.comparing(DeliveryRate::getPostalCodeFrom));
+
+            int[] from = new int[ranges.size()];
+            int[] to = new int[ranges.size()];
+            BigDecimal[] costs = new BigDecimal[ranges.size()];
+            for (int i = 0; i < ranges.size(); i++) {
+                from[i] = ranges.get(i).getPostalCodeFrom();
+                to[i] = ranges.get(i).getPostalCodeTo();
+                costs[i] = ranges.get(i).getCost();
+            }
+            return new ProvinceRates(provinceCost, from, to, costs);
+        }
+
+        BigDecimal find(Integer postalCode) {
+            if (postalCode != null && from.length > 0) {
+                int index = Arrays.binarySearch(from, postalCode);
+                // Not found: last range starting before the code
+                int candidate = index >= 0 ? index : -index - 2;
+                if (candidate >= 0 && postalCode <= to[candidate]) {
+                    return costs[candidate];
+                }
+            }
+            return provinceCost;
+        }
+    }
+}
@@ -36,6 +36,7 @@ public class OrderMapper {
                 .status(order.getStatus())
                 .paymentStatus(order.getPaymentStatus())
                 .mercadoPagoPreferenceId(order.getMercadoPagoPreferenceId())
+                .mercadoPagoPreferenceCreatedAt(order.getMercadoPagoPreferenceCreatedAt())
                 .mercadoPagoPaymentId(order.getMercadoPagoPaymentId())
                 .createdAt(order.getCreatedAt())
                 .updatedAt(order.getUpdatedAt())
@@ -90,6 +91,7 @@ public class OrderMapper {
                 .status(entity.getStatus())
                 .paymentStatus(entity.getPaymentStatus())
                 .mercadoPagoPreferenceId(entity.getMercadoPagoPreferenceId())
+                .mercadoPagoPreferenceCreatedAt(entity.getMercadoPagoPreferenceCreatedAt())
                 .mercadoPagoPaymentId(entity.getMercadoPagoPaymentId())
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
@@ -0,0 +1,46 @@
+package com.flavia.dermobeauty.sales.infrastructure.persistence;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity for delivery_rates table.
+ */
+@Entity
+@Table(name = "delivery_rates")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeliveryRateEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String province;
+
+    @Column(name = "postal_code_from")
+    private Integer postalCodeFrom;
+
+    @Column(name = "postal_code_to")
+    private Integer postalCodeTo;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal cost;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.flavia.dermobeauty.sales.infrastructure.persistence;
+
+import com.flavia.dermobeauty.sales.domain.DeliveryRate;
+import com.flavia.dermobeauty.sales.domain.DeliveryRateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Adapter that implements DeliveryRateRepository port using JPA.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeliveryRateRepositoryAdapter implements DeliveryRateRepository {
+
+    private final JpaDeliveryRateRepository jpaRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DeliveryRate> findAll() {
+        return jpaRepository.findAllByOrderByProvinceAscPostalCodeFromAsc().stream()
+                .map(DeliveryRateRepositoryAdapter::toDomain)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public List<DeliveryRate> replaceAll(List<DeliveryRate> rates) {
+        // Two concurrent replacements would otherwise both delete, then both insert
+        jpaRepository.lockForReplace();
+        jpaRepository.deleteAllRates();
+        List<DeliveryRateEntity> entities = rates.stream()
+                .map(rate -> DeliveryRateEntity.builder()
+                        .province(rate.getProvince())
+                        .postalCodeFrom(rate.getPostalCodeFrom())
+                        .postalCodeTo(rate.getPostalCodeTo())
+                        .cost(rate.getCost())
+                        .build())
+                .toList();
+        return jpaRepository.saveAll(entities).stream()
+                .map(DeliveryRateRepositoryAdapter::toDomain)
+                .toList();
+    }
+
+    private static DeliveryRate toDomain(DeliveryRateEntity entity) {
+        return new DeliveryRate(entity.getProvince(), entity.getPostalCodeFrom(), entity.getPostalCodeTo(),
+                entity.getCost());
+    }
+}
@@ -0,0 +1,28 @@
+package com.flavia.dermobeauty.sales.infrastructure.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for DeliveryRateEntity.
+ */
+@Repository
+public interface JpaDeliveryRateRepository extends JpaRepository<DeliveryRateEntity, Long> {
+
+    List<DeliveryRateEntity> findAllByOrderByProvinceAscPostalCodeFromAsc();
+
+    /**
+     * Blocks other writers (not readers) of delivery_rates until the transaction ends.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE delivery_rates IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForReplace();
+
+    @Modifying
+    @Query("DELETE FROM DeliveryRateEntity")
+    void deleteAllRates();
+}
@@ -1,9 +1,17 @@
 package com.flavia.dermobeauty.sales.infrastructure.persistence;
 
 import com.flavia.dermobeauty.sales.domain.OrderStatus;
+import com.flavia.dermobeauty.sales.web.dto.OrderSummaryResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,5 +26,50 @@ public interface JpaOrderRepository extends JpaRepository<OrderEntity, Long> {
 
     Optional<OrderEntity> findByMercadoPagoPaymentId(String paymentId);
 
+    /**
+     * Conditional payment confirmation; the row count tells whether this call won.
+     */
+    @Modifying
+    @Query(value = """
+           UPDATE orders
+           SET mercadopago_payment_id = :paymentId,
+               payment_status = 'PAID',
+               status = 'PAID',
+               updated_at = :now
+           WHERE order_number = :orderNumber
+           AND mercadopago_payment_id IS NULL
+           AND payment_status <> 'PAID'
+           AND status <> 'CANCELLED'
+           AND total = :total
+           """, nativeQuery = true)
+    int confirmPayment(
+            @Param("orderNumber") String orderNumber,
+            @Param("paymentId") String paymentId,
+            @Param("total") BigDecimal total,
+            @Param("now") LocalDateTime now
+    );
+
+    @Modifying
+    @Query("""
+           UPDATE OrderEntity o
+           SET o.mercadoPagoPreferenceId = :preferenceId,
+               o.mercadoPagoPreferenceCreatedAt = :createdAt
+           WHERE o.id = :id
+           """)
+    int updateMercadoPagoPreference(
+            @Param("id") Long id,
+            @Param("preferenceId") String preferenceId,
+            @Param("createdAt") LocalDateTime createdAt
+    );
+
     List<OrderEntity> findByStatus(OrderStatus status);
+
+    /**
+     * Order table rows; the item count is a correlated count served by idx_order_items_order.
+     */
+    @Query(value = "SELECT new com.flavia.dermobeauty.sales.web.dto.OrderSummaryResponse(" +
+            "o.id, o.orderNumber, o.customerName, o.customerEmail, o.deliveryType, o.total, " +
+            "o.status, o.paymentStatus, o.createdAt, SIZE(o.items)) FROM OrderEntity o",
+            countQuery = "SELECT COUNT(o) FROM OrderEntity o")
+    Page<OrderSummaryResponse> findSummaries(Pageable pageable);
 }
@@ -5,6 +5,7 @@ import com.flavia.dermobeauty.sales.domain.DeliveryType;
 import com.flavia.dermobeauty.sales.domain.OrderStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -64,7 +65,9 @@ public class OrderEntity {
     private String deliveryNotes;
 
     // Order items (OneToMany relationship)
+    // Batch-fetched: mapping a page of orders loads all their items with one IN query
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     @Builder.Default
     @ToString.Exclude
     private List<OrderItemEntity> items = new ArrayList<>();
@@ -92,6 +95,9 @@ public class OrderEntity {
     @Column(name = "mercadopago_preference_id", length = 200)
     private String mercadoPagoPreferenceId;
 
+    @Column(name = "mercadopago_preference_created_at")
+    private LocalDateTime mercadoPagoPreferenceCreatedAt;
+
     @Column(name = "mercadopago_payment_id", length = 200)
     private String mercadoPagoPaymentId;
 
@@ -10,6 +10,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional; // <--- IMPORTANTE
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -50,6 +52,18 @@ public class OrderRepositoryAdapter implements OrderRepository {
                 .map(mapper::toDomain);
     }
 
+    @Override
+    @Transactional
+    public boolean confirmPayment(String orderNumber, String paymentId, BigDecimal total) {
+        return jpaRepository.confirmPayment(orderNumber, paymentId, total, LocalDateTime.now()) == 1;
+    }
+
+    @Override
+    @Transactional
+    public void updateMercadoPagoPreference(Long orderId, String preferenceId, LocalDateTime createdAt) {
+        jpaRepository.updateMercadoPagoPreference(orderId, preferenceId, createdAt);
+    }
+
     @Override
     @Transactional(readOnly = true) // <--- AGREGAR ESTO (CRÍTICO PARA LA LISTA)
     public List<Order> findAll() {
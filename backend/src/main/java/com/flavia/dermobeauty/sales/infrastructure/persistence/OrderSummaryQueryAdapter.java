@@ -0,0 +1,80 @@
+package com.flavia.dermobeauty.sales.infrastructure.persistence;
+
+import com.flavia.dermobeauty.sales.application.port.OrderSearchFilter;
+import com.flavia.dermobeauty.sales.application.port.OrderSummaryQuery;
+import com.flavia.dermobeauty.sales.web.dto.OrderSummaryResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adapter that implements the OrderSummaryQuery port with JPQL constructor projections.
+ * The search query is assembled from the filters that are set, so every
+ * variant can use the matching composite index (see V20).
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderSummaryQueryAdapter implements OrderSummaryQuery {
+
+    private static final String SUMMARY_SELECT = "SELECT new com.flavia.dermobeauty.sales.web.dto.OrderSummaryResponse(" +
+            "o.id, o.orderNumber, o.customerName, o.customerEmail, o.deliveryType, o.total, " +
+            "o.status, o.paymentStatus, o.createdAt, SIZE(o.items)) FROM OrderEntity o WHERE 1 = 1";
+
+    private final JpaOrderRepository jpaRepository;
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<OrderSummaryResponse> findSummaries(Pageable pageable) {
+        return jpaRepository.findSummaries(pageable);
+    }
+
+    @Override
+    public List<OrderSummaryResponse> search(OrderSearchFilter filter, LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder(SUMMARY_SELECT);
+        Map<String, Object> params = new HashMap<>();
+
+        if (filter.status() != null) {
+            jpql.append(" AND o.status = :status");
+            params.put("status", filter.status());
+        }
+        if (filter.paymentStatus() != null) {
+            jpql.append(" AND o.paymentStatus = :paymentStatus");
+            params.put("paymentStatus", filter.paymentStatus());
+        }
+        if (filter.createdFrom() != null) {
+            jpql.append(" AND o.createdAt >= :createdFrom");
+            params.put("createdFrom", filter.createdFrom());
+        }
+        if (filter.createdTo() != null) {
+            jpql.append(" AND o.createdAt < :createdTo");
+            params.put("createdTo", filter.createdTo());
+        }
+        if (filter.customerPrefix() != null) {
+            jpql.append(" AND (LOWER(o.customerEmail) LIKE :prefix ESCAPE '\\' OR LOWER(o.customerName) LIKE :prefix ESCAPE '\\')");
+            params.put("prefix", escapeLike(filter.customerPrefix()) + "%");
+        }
+        if (afterCreatedAt != null && afterId != null) {
+            // Seek past the last row of the previous page
+            jpql.append(" AND o.createdAt <= :afterCreatedAt AND (o.createdAt < :afterCreatedAt OR o.id < :afterId)");
+            params.put("afterCreatedAt", afterCreatedAt);
+            params.put("afterId", afterId);
+        }
+        jpql.append(" ORDER BY o.createdAt DESC, o.id DESC");
+
+        TypedQuery<OrderSummaryResponse> query = entityManager.createQuery(jpql.toString(), OrderSummaryResponse.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,47 @@
+package com.flavia.dermobeauty.sales.infrastructure.reporting;
+
+import com.flavia.dermobeauty.reporting.repository.SalesRollupRepository;
+import com.flavia.dermobeauty.sales.application.port.SalesReportRecorder;
+import com.flavia.dermobeauty.sales.domain.Order;
+import com.flavia.dermobeauty.sales.domain.OrderItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adapter that records orders in the daily sales rollups, by order creation day.
+ */
+@Component
+@RequiredArgsConstructor
+public class RollupSalesReportRecorder implements SalesReportRecorder {
+
+    private final SalesRollupRepository salesRollupRepository;
+
+    @Override
+    public void orderPaid(Order order) {
+        record(order, 1);
+    }
+
+    @Override
+    public void orderCancelled(Order order) {
+        record(order, -1);
+    }
+
+    private void record(Order order, int sign) {
+        // One line per product, even if the order lists it twice
+        Map<Long, SalesRollupRepository.ProductLine> lines = new LinkedHashMap<>();
+        for (OrderItem item : order.getItems()) {
+            lines.merge(item.getProductId(),
+                    new SalesRollupRepository.ProductLine(
+                            item.getProductId(), item.getProductName(), item.getQuantity(), item.getSubtotal()),
+                    (a, b) -> new SalesRollupRepository.ProductLine(
+                            a.productId(), a.productName(), a.units() + b.units(), a.revenue().add(b.revenue())));
+        }
+        BigDecimal total = order.getTotal() != null ? order.getTotal() : BigDecimal.ZERO;
+        salesRollupRepository.addOrder(order.getCreatedAt().toLocalDate(), sign, total, List.copyOf(lines.values()));
+    }
+}
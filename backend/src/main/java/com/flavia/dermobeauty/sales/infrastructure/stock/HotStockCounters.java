@@ -0,0 +1,198 @@
+package com.flavia.dermobeauty.sales.infrastructure.stock;
+
+import com.flavia.dermobeauty.catalog.service.ProductStockAdjustedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live stock of hot products (products.hot_stock), held in striped in-memory counters.
+ *
+ * A counter holds what can still be reserved: products.stock plus unflushed
+ * journal deltas, minus active reservations. Takes are CAS operations; no
+ * products row is locked on the hot path. Committed movements are journaled
+ * in the caller's transaction and applied to products.stock write-behind.
+ * The flag is read at startup; assumes a single application instance.
+ */
+@Slf4j
+@Component
+public class HotStockCounters {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int stripes;
+    private final int flushBatchSize;
+
+    private final Map<Long, StripedStockCounter> counters = new ConcurrentHashMap<>();
+    private final Counter rejected;
+    private final Counter flushed;
+
+    public HotStockCounters(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.stock.hot-stripes:8}") int stripes,
+            @Value("${app.stock.hot-flush-batch-size:1000}") int flushBatchSize,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stripes = stripes;
+        this.flushBatchSize = flushBatchSize;
+        this.rejected = meterRegistry.counter("stock.hot.rejected");
+        this.flushed = meterRegistry.counter("stock.hot.journal.flushed");
+    }
+
+    @PostConstruct
+    void load() {
+        // Recovery: apply whatever the previous run journaled but did not flush
+        flush();
+
+        // Active reservations already took their units from the counter (even expired ones, until swept)
+        jdbcTemplate.query("""
+                SELECT p.id, p.stock - COALESCE(SUM(r.quantity), 0) AS available
+                FROM products p
+                LEFT JOIN stock_reservations r ON r.product_id = p.id AND r.status = 'ACTIVE'
+                WHERE p.hot_stock
+                GROUP BY p.id, p.stock
+                """,
+                (RowCallbackHandler) rs -> counters.put(
+                        rs.getLong("id"), new StripedStockCounter(stripes, rs.getInt("available"))));
+
+        if (!counters.isEmpty()) {
+            log.info("Hot stock mode enabled for products {}", counters.keySet());
+        }
+    }
+
+    public boolean isHot(Long productId) {
+        return counters.containsKey(productId);
+    }
+
+    /**
+     * Units that can still be taken (never negative).
+     */
+    public int available(Long productId) {
+        return Math.max(counter(productId).total(), 0);
+    }
+
+    /**
+     * Takes units, all or nothing. If a transaction is active the units are put
+     * back when it does not commit.
+     */
+    public boolean tryTake(Long productId, int quantity) {
+        if (!counter(productId).tryTake(quantity)) {
+            rejected.increment();
+            return false;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        counter(productId).adjust(quantity);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Returns units to the counter (released reservation). Call after commit.
+     */
+    public void giveBack(Long productId, int quantity) {
+        counter(productId).adjust(quantity);
+    }
+
+    /**
+     * Records a committed stock movement. Must run in the transaction that makes the change.
+     */
+    public void journal(Long orderId, Map<Long, Integer> deltas) {
+        List<Object[]> rows = deltas.entrySet().stream()
+                .map(entry -> new Object[]{entry.getKey(), entry.getValue(), orderId})
+                .toList();
+        jdbcTemplate.batchUpdate("INSERT INTO stock_journal (product_id, delta, order_id) VALUES (?, ?, ?)", rows);
+    }
+
+    /**
+     * Applies journaled deltas to products.stock: one products update per product
+     * per batch, and the applied journal rows are deleted by the same statement.
+     */
+    @Scheduled(fixedDelayString = "${app.stock.hot-flush-interval:PT5S}")
+    public void flush() {
+        int total = 0;
+        int drained;
+        do {
+            Integer count = transactionTemplate.execute(status -> jdbcTemplate.queryForObject("""
+                    WITH drained AS (
+                        DELETE FROM stock_journal
+                        WHERE id IN (SELECT id FROM stock_journal ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED)
+                        RETURNING product_id, delta
+                    ), net AS (
+                        SELECT product_id, SUM(delta) AS delta FROM drained GROUP BY product_id
+                    ), applied AS (
+                        UPDATE products p SET stock = p.stock + net.delta, updated_at = NOW()
+                        FROM net WHERE p.id = net.product_id
+                        RETURNING p.id
+                    )
+                    SELECT COUNT(*) FROM drained
+                    """, Integer.class, flushBatchSize));
+
+            drained = count != null ? count : 0;
+            total += drained;
+        } while (drained == flushBatchSize);
+
+        if (total > 0) {
+            flushed.increment(total);
+            log.debug("Flushed {} hot stock journal entries", total);
+        }
+    }
+
+    /**
+     * Admin stock edits of hot products: journaled in the editing transaction like
+     * any other movement, and applied to the live counter once it commits.
+     */
+    @EventListener
+    public void onStockAdjusted(ProductStockAdjustedEvent event) {
+        journal(null, Map.of(event.productId(), event.delta()));
+
+        Runnable apply = () -> {
+            StripedStockCounter counter = counters.get(event.productId());
+            if (counter != null) {
+                counter.adjust(event.delta());
+                log.info("Hot stock for product {} adjusted by {}", event.productId(), event.delta());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private StripedStockCounter counter(Long productId) {
+        StripedStockCounter counter = counters.get(productId);
+        if (counter == null) {
+            throw new IllegalStateException("Product " + productId + " is not in hot stock mode");
+        }
+        return counter;
+    }
+}
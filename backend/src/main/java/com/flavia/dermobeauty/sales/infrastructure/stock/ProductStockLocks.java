@@ -0,0 +1,39 @@
+package com.flavia.dermobeauty.sales.infrastructure.stock;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedSet;
+
+/**
+ * Row locking shared by the stock writers.
+ * Locks are always taken in product id order, so two writers touching
+ * overlapping products can not deadlock.
+ */
+final class ProductStockLocks {
+
+    private ProductStockLocks() {
+    }
+
+    /**
+     * Locks the given product rows (FOR UPDATE) until the current transaction ends.
+     *
+     * @return current stock per product id; missing products are absent from the map
+     */
+    static Map<Long, Integer> lockStock(JdbcTemplate jdbcTemplate, SortedSet<Long> productIds) {
+        Map<Long, Integer> stock = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return stock;
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(productIds.size(), "?"));
+        jdbcTemplate.query(
+                "SELECT id, stock FROM products WHERE id IN (" + placeholders + ") ORDER BY id FOR UPDATE",
+                (RowCallbackHandler) rs -> stock.put(rs.getLong("id"), rs.getInt("stock")),
+                productIds.toArray());
+        return stock;
+    }
+}
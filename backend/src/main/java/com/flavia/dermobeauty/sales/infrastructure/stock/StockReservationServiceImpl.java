@@ -0,0 +1,316 @@
+package com.flavia.dermobeauty.sales.infrastructure.stock;
+
+import com.flavia.dermobeauty.sales.application.port.StockReservationService;
+import com.flavia.dermobeauty.sales.domain.InsufficientStockException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of StockReservationService backed by the stock_reservations table.
+ *
+ * Active holds are mirrored in memory (product -> order -> hold), so available
+ * stock is computed without querying reservations. The index is updated
+ * conservatively: holds are added before commit (while the product rows are
+ * locked) and removed only after commit, so it can over-count for a moment
+ * but never under-count. Assumes a single application instance, like the
+ * other in-process caches.
+ *
+ * Hot products ({@link HotStockCounters}) are not tracked here: a reservation
+ * takes its units straight from the live counter, and releasing it puts them back.
+ */
+@Slf4j
+@Service
+public class StockReservationServiceImpl implements StockReservationService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HotStockCounters hotStockCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final int sweepBatchSize;
+
+    private final Map<Long, Map<Long, Hold>> holdsByProduct = new ConcurrentHashMap<>();
+    private final Counter expired;
+
+    public StockReservationServiceImpl(
+            JdbcTemplate jdbcTemplate,
+            HotStockCounters hotStockCounters,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.stock.reservation-ttl:PT30M}") Duration ttl,
+            @Value("${app.stock.reservation-sweep-batch-size:200}") int sweepBatchSize,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.hotStockCounters = hotStockCounters;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.sweepBatchSize = sweepBatchSize;
+        this.expired = meterRegistry.counter("stock.reservations.expired");
+    }
+
+    @PostConstruct
+    void load() {
+        jdbcTemplate.query(
+                "SELECT order_id, product_id, quantity, expires_at FROM stock_reservations WHERE status = 'ACTIVE'",
+                (RowCallbackHandler) rs -> {
+                    long productId = rs.getLong("product_id");
+                    if (!hotStockCounters.isHot(productId)) {
+                        addHold(productId, rs.getLong("order_id"),
+                                new Hold(rs.getInt("quantity"), rs.getTimestamp("expires_at").toLocalDateTime()));
+                    }
+                });
+        log.info("Loaded active stock reservations for {} products", holdsByProduct.size());
+    }
+
+    @Override
+    public int getAvailableStock(Long productId, int stock) {
+        if (hotStockCounters.isHot(productId)) {
+            return hotStockCounters.available(productId);
+        }
+        return Math.max(stock - reservedQuantity(productId, LocalDateTime.now()), 0);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(Long orderId, Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+
+        // Row locks serialize reservations of the same product until the order commits
+        TreeMap<Long, Integer> sorted = new TreeMap<>(quantities);
+        TreeMap<Long, Integer> cold = new TreeMap<>(sorted);
+        cold.keySet().removeIf(hotStockCounters::isHot);
+        Map<Long, Integer> stock = ProductStockLocks.lockStock(jdbcTemplate, cold.navigableKeySet());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<InsufficientStockException.Shortfall> shortfalls = new ArrayList<>();
+        cold.forEach((productId, quantity) -> {
+            int available = stock.getOrDefault(productId, 0) - reservedQuantity(productId, now);
+            if (available < quantity) {
+                shortfalls.add(new InsufficientStockException.Shortfall(productId, quantity, Math.max(available, 0)));
+            }
+        });
+
+        // Hot products: CAS on the live counter, returned automatically if the order rolls back
+        if (shortfalls.isEmpty()) {
+            sorted.forEach((productId, quantity) -> {
+                if (!cold.containsKey(productId) && !hotStockCounters.tryTake(productId, quantity)) {
+                    shortfalls.add(new InsufficientStockException.Shortfall(
+                            productId, quantity, hotStockCounters.available(productId)));
+                }
+            });
+        }
+
+        if (!shortfalls.isEmpty()) {
+            log.warn("Reservation rejected for order {}, products short: {}", orderId, shortfalls);
+            throw new InsufficientStockException(shortfalls);
+        }
+
+        LocalDateTime expiresAt = now.plus(ttl);
+        List<Object[]> rows = new ArrayList<>(sorted.size());
+        sorted.forEach((productId, quantity) -> rows.add(new Object[]{orderId, productId, quantity, expiresAt}));
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO stock_reservations (order_id, product_id, quantity, expires_at) VALUES (?, ?, ?, ?)",
+                rows);
+
+        // Count the holds now, while the rows are still locked; drop them if the order rolls back
+        cold.forEach((productId, quantity) -> addHold(productId, orderId, new Hold(quantity, expiresAt)));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    cold.keySet().forEach(productId -> removeHold(productId, orderId));
+                }
+            }
+        });
+
+        log.info("Reserved stock for order {} until {}: {}", orderId, expiresAt, sorted);
+    }
+
+    @Override
+    @Transactional
+    public Map<Long, Integer> consume(Long orderId, Map<Long, Integer> quantities) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Hold> held = close(orderId, "CONSUMED");
+
+        // Held hot units already left the live counter (expired ones too, until swept):
+        // journal the decrement, nothing left to take
+        Map<Long, Integer> remaining = new HashMap<>(quantities);
+        Map<Long, Integer> hotDeltas = new HashMap<>();
+        held.forEach((productId, hold) -> {
+            if (hotStockCounters.isHot(productId)) {
+                int quantity = hold.quantity();
+                hotDeltas.put(productId, -quantity);
+                remaining.computeIfPresent(productId, (id, requested) -> requested > quantity ? requested - quantity : null);
+            }
+        });
+        if (!hotDeltas.isEmpty()) {
+            hotStockCounters.journal(orderId, hotDeltas);
+        }
+
+        // A cold hold stops counting once expired, so other orders may have reserved its units since:
+        // without a live hold the order takes its stock like a new reservation would
+        TreeMap<Long, Integer> cold = new TreeMap<>(remaining);
+        cold.keySet().removeIf(hotStockCounters::isHot);
+        boolean unheld = cold.keySet().stream().anyMatch(productId -> {
+            Hold hold = held.get(productId);
+            return hold == null || !hold.expiresAt().isAfter(now);
+        });
+        if (unheld) {
+            Map<Long, Integer> stock = ProductStockLocks.lockStock(jdbcTemplate, cold.navigableKeySet());
+            List<InsufficientStockException.Shortfall> shortfalls = new ArrayList<>();
+            cold.forEach((productId, quantity) -> {
+                Hold hold = held.get(productId);
+                if (hold != null && hold.expiresAt().isAfter(now)) {
+                    return;
+                }
+                int available = stock.getOrDefault(productId, 0) - reservedQuantity(productId, now);
+                if (available < quantity) {
+                    shortfalls.add(new InsufficientStockException.Shortfall(productId, quantity, Math.max(available, 0)));
+                }
+            });
+            if (!shortfalls.isEmpty()) {
+                log.warn("Order {} paid after its reservation expired, products now held by others: {}",
+                        orderId, shortfalls);
+                throw new InsufficientStockException(shortfalls);
+            }
+        }
+        return remaining;
+    }
+
+    @Override
+    @Transactional
+    public void release(Long orderId) {
+        close(orderId, "RELEASED");
+    }
+
+    /**
+     * Releases expired reservations in batches, each in its own transaction.
+     * SKIP LOCKED lets it run next to a payment confirmation without waiting on it.
+     */
+    @Scheduled(fixedDelayString = "${app.stock.reservation-sweep-interval:PT1M}")
+    public void releaseExpired() {
+        int total = 0;
+        int released;
+        do {
+            List<long[]> rows = transactionTemplate.execute(status -> jdbcTemplate.query(
+                    "UPDATE stock_reservations SET status = 'RELEASED', closed_at = NOW() " +
+                            "WHERE id IN (SELECT id FROM stock_reservations " +
+                            "WHERE status = 'ACTIVE' AND expires_at <= ? " +
+                            "ORDER BY expires_at LIMIT ? FOR UPDATE SKIP LOCKED) " +
+                            "RETURNING order_id, product_id, quantity",
+                    (rs, rowNum) -> new long[]{rs.getLong("order_id"), rs.getLong("product_id"), rs.getInt("quantity")},
+                    LocalDateTime.now(), sweepBatchSize));
+
+            released = rows == null ? 0 : rows.size();
+            if (rows != null) {
+                rows.forEach(row -> dropHold(row[1], row[0], (int) row[2], true));
+            }
+            total += released;
+        } while (released == sweepBatchSize);
+
+        if (total > 0) {
+            expired.increment(total);
+            log.info("Released {} expired stock reservations", total);
+        }
+    }
+
+    private Map<Long, Hold> close(Long orderId, String status) {
+        Map<Long, Hold> closed = new HashMap<>();
+        jdbcTemplate.query(
+                "UPDATE stock_reservations SET status = ?, closed_at = NOW() " +
+                        "WHERE order_id = ? AND status = 'ACTIVE' RETURNING product_id, quantity, expires_at",
+                (RowCallbackHandler) rs -> closed.put(rs.getLong("product_id"),
+                        new Hold(rs.getInt("quantity"), rs.getTimestamp("expires_at").toLocalDateTime())),
+                status, orderId);
+
+        if (closed.isEmpty()) {
+            return closed;
+        }
+
+        // Keep counting the holds until the change is committed
+        boolean released = "RELEASED".equals(status);
+        Runnable dropHolds = () -> closed.forEach((productId, hold) ->
+                dropHold(productId, orderId, hold.quantity(), released));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dropHolds.run();
+                }
+            });
+        } else {
+            dropHolds.run();
+        }
+
+        log.info("Stock reservations for order {} marked {} ({} products)", orderId, status, closed.size());
+        return closed;
+    }
+
+    /**
+     * Stops counting a closed hold. Released hot units go back to the live counter;
+     * consumed ones stay out of it.
+     */
+    private void dropHold(Long productId, Long orderId, int quantity, boolean released) {
+        if (hotStockCounters.isHot(productId)) {
+            if (released) {
+                hotStockCounters.giveBack(productId, quantity);
+            }
+        } else {
+            removeHold(productId, orderId);
+        }
+    }
+
+    private int reservedQuantity(Long productId, LocalDateTime now) {
+        Map<Long, Hold> holds = holdsByProduct.get(productId);
+        if (holds == null) {
+            return 0;
+        }
+        int reserved = 0;
+        for (Hold hold : holds.values()) {
+            if (hold.expiresAt().isAfter(now)) {
+                reserved += hold.quantity();
+            }
+        }
+        return reserved;
+    }
+
+    private void addHold(Long productId, Long orderId, Hold hold) {
+        holdsByProduct.compute(productId, (id, holds) -> {
+            Map<Long, Hold> updated = holds != null ? holds : new ConcurrentHashMap<>();
+            updated.put(orderId, hold);
+            return updated;
+        });
+    }
+
+    private void removeHold(Long productId, Long orderId) {
+        holdsByProduct.computeIfPresent(productId, (id, holds) -> {
+            holds.remove(orderId);
+            return holds.isEmpty() ? null : holds;
+        });
+    }
+
+    private record Hold(int quantity, LocalDateTime expiresAt) {
+    }
+}
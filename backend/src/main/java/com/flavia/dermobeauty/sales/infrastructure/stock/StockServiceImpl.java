@@ -2,11 +2,20 @@ package com.flavia.dermobeauty.sales.infrastructure.stock;
 
 import com.flavia.dermobeauty.catalog.repository.ProductRepository;
 import com.flavia.dermobeauty.sales.application.port.StockService;
+import com.flavia.dermobeauty.sales.domain.InsufficientStockException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
 /**
  * Implementation of StockService using product repository.
  * Manages product stock levels with pessimistic locking.
@@ -17,6 +26,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class StockServiceImpl implements StockService {
 
     private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final HotStockCounters hotStockCounters;
 
     @Override
     @Transactional(readOnly = true)
@@ -38,4 +49,78 @@ public class StockServiceImpl implements StockService {
 
         log.info("Decremented stock for product {}: -{} units", productId, quantity);
     }
-}
\ No newline at end of file
+
+    /**
+     * Locks the product rows in id order (so concurrent confirmations can not
+     * deadlock), checks every quantity, then applies all decrements with one
+     * UPDATE ... FROM (VALUES ...). Nothing is written if any product falls short.
+     * Hot products are taken from their live counters instead and journaled.
+     */
+    @Override
+    @Transactional
+    public void decrementAll(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+
+        TreeMap<Long, Integer> sorted = new TreeMap<>();
+        Map<Long, Integer> hot = new TreeMap<>();
+        quantities.forEach((productId, quantity) ->
+                (hotStockCounters.isHot(productId) ? hot : sorted).put(productId, quantity));
+
+        Map<Long, Integer> available = ProductStockLocks.lockStock(jdbcTemplate, sorted.navigableKeySet());
+
+        List<InsufficientStockException.Shortfall> shortfalls = new ArrayList<>();
+        sorted.forEach((productId, quantity) -> {
+            int stock = available.getOrDefault(productId, 0);
+            if (stock < quantity) {
+                shortfalls.add(new InsufficientStockException.Shortfall(productId, quantity, stock));
+            }
+        });
+
+        // Taken hot units go back to their counters if the transaction rolls back
+        Map<Long, Integer> hotDeltas = new HashMap<>();
+        if (shortfalls.isEmpty()) {
+            hot.forEach((productId, quantity) -> {
+                if (hotStockCounters.tryTake(productId, quantity)) {
+                    hotDeltas.put(productId, -quantity);
+                } else {
+                    shortfalls.add(new InsufficientStockException.Shortfall(
+                            productId, quantity, hotStockCounters.available(productId)));
+                }
+            });
+        }
+
+        if (!shortfalls.isEmpty()) {
+            log.error("Stock update rejected, products short: {}", shortfalls);
+            throw new InsufficientStockException(shortfalls);
+        }
+
+        if (!sorted.isEmpty()) {
+            String valuePlaceholders = String.join(", ",
+                    Collections.nCopies(sorted.size(), "(CAST(? AS BIGINT), CAST(? AS INTEGER))"));
+            List<Object> args = new ArrayList<>(sorted.size() * 2);
+            sorted.forEach((productId, quantity) -> {
+                args.add(productId);
+                args.add(quantity);
+            });
+
+            int updatedRows = jdbcTemplate.update(
+                    "UPDATE products p SET stock = p.stock - v.quantity, updated_at = NOW() " +
+                            "FROM (VALUES " + valuePlaceholders + ") AS v(id, quantity) WHERE p.id = v.id",
+                    args.toArray());
+
+            if (updatedRows != sorted.size()) {
+                // Rows are locked above, so this means the table changed under us
+                throw new IllegalStateException(
+                        String.format("Expected to update %d products, updated %d", sorted.size(), updatedRows));
+            }
+        }
+
+        if (!hotDeltas.isEmpty()) {
+            hotStockCounters.journal(null, hotDeltas);
+        }
+
+        log.info("Decremented stock for {} products: {}", quantities.size(), quantities);
+    }
+}
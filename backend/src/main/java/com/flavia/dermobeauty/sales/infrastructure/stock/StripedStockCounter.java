@@ -0,0 +1,104 @@
+package com.flavia.dermobeauty.sales.infrastructure.stock;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Stock counter split over several cells so concurrent takers rarely CAS the same slot.
+ *
+ * A take starts at a random cell and drains cells until it has the full
+ * quantity; if the cells run dry it puts back what it took and fails. The
+ * counter never goes below zero through takes. Cells only go negative through
+ * {@link #adjust} when the total itself is negative.
+ */
+final class StripedStockCounter {
+
+    private final AtomicIntegerArray cells;
+    private final int mask;
+
+    StripedStockCounter(int stripes, int initial) {
+        int size = Integer.highestOneBit(Math.max(stripes, 1));
+        this.cells = new AtomicIntegerArray(size);
+        this.mask = size - 1;
+        adjust(initial);
+    }
+
+    /**
+     * Takes {@code quantity} units, all or nothing.
+     */
+    boolean tryTake(int quantity) {
+        int start = probe();
+        int size = cells.length();
+        int[] taken = new int[size];
+        int remaining = quantity;
+
+        for (int i = 0; i < size && remaining > 0; i++) {
+            int index = (start + i) & mask;
+            while (true) {
+                int current = cells.get(index);
+                if (current <= 0) {
+                    break;
+                }
+                int take = Math.min(current, remaining);
+                if (cells.compareAndSet(index, current, current - take)) {
+                    taken[index] += take;
+                    remaining -= take;
+                    break;
+                }
+            }
+        }
+
+        if (remaining == 0) {
+            return true;
+        }
+
+        // Not enough: give back the partial take
+        for (int index = 0; index < size; index++) {
+            if (taken[index] > 0) {
+                cells.addAndGet(index, taken[index]);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds (or, when negative, removes) units without a floor.
+     */
+    void adjust(int delta) {
+        if (delta >= 0) {
+            cells.addAndGet(probe(), delta);
+            return;
+        }
+
+        // Drain positive cells first so a negative remainder only exists when the total is negative
+        int remaining = -delta;
+        for (int index = 0; index < cells.length() && remaining > 0; index++) {
+            while (true) {
+                int current = cells.get(index);
+                if (current <= 0) {
+                    break;
+                }
+                int take = Math.min(current, remaining);
+                if (cells.compareAndSet(index, current, current - take)) {
+                    remaining -= take;
+                    break;
+                }
+            }
+        }
+        if (remaining > 0) {
+            cells.addAndGet(0, -remaining);
+        }
+    }
+
+    int total() {
+        int total = 0;
+        for (int index = 0; index < cells.length(); index++) {
+            total += cells.get(index);
+        }
+        return total;
+    }
+
+    private int probe() {
+        return ThreadLocalRandom.current().nextInt() & mask;
+    }
+}
@@ -2,34 +2,49 @@ package com.flavia.dermobeauty.sales.web;
 
 import com.flavia.dermobeauty.booking.application.usecase.CancelBookingUseCase;
 import com.flavia.dermobeauty.booking.application.usecase.ListBookingsUseCase;
+import com.flavia.dermobeauty.booking.domain.PaymentStatus;
 import com.flavia.dermobeauty.booking.web.dto.BookingResponse;
+import com.flavia.dermobeauty.sales.application.usecase.ListDeliveryRatesUseCase;
 import com.flavia.dermobeauty.sales.application.usecase.ListOrdersUseCase;
+import com.flavia.dermobeauty.sales.application.usecase.SearchOrdersUseCase;
+import com.flavia.dermobeauty.sales.application.usecase.UpdateDeliveryRatesUseCase;
 import com.flavia.dermobeauty.sales.application.usecase.UpdateOrderStatusUseCase;
 import com.flavia.dermobeauty.sales.domain.Order;
 import com.flavia.dermobeauty.sales.domain.OrderStatus;
+import com.flavia.dermobeauty.sales.web.dto.DeliveryRateDto;
 import com.flavia.dermobeauty.sales.web.dto.OrderResponse;
+import com.flavia.dermobeauty.sales.web.dto.OrderSearchResponse;
+import com.flavia.dermobeauty.sales.web.dto.OrderSummaryResponse;
 import com.flavia.dermobeauty.shared.web.ApiResponse;
+import jakarta.validation.Valid;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/admin")
 @RequiredArgsConstructor
+@Validated
 public class AdminOperationsController {
 
     private final ListBookingsUseCase listBookingsUseCase;
     private final CancelBookingUseCase cancelBookingUseCase;
     private final ListOrdersUseCase listOrdersUseCase;
+    private final SearchOrdersUseCase searchOrdersUseCase;
     private final UpdateOrderStatusUseCase updateOrderStatusUseCase;
+    private final ListDeliveryRatesUseCase listDeliveryRatesUseCase;
+    private final UpdateDeliveryRatesUseCase updateDeliveryRatesUseCase;
 
     // ==================== BOOKINGS ====================
 
@@ -59,6 +74,35 @@ public class AdminOperationsController {
         return ResponseEntity.ok(ApiResponse.success(orders));
     }
 
+    /**
+     * Order table view: same paging as GET /orders, without items.
+     */
+    @GetMapping("/orders/summary")
+    public ResponseEntity<ApiResponse<Page<OrderSummaryResponse>>> getOrderSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("id").descending());
+        Page<OrderSummaryResponse> orders = listOrdersUseCase.executeSummaries(pageable);
+        return ResponseEntity.ok(ApiResponse.success(orders));
+    }
+
+    /**
+     * Filtered order search, newest first. Pass the returned nextCursor to get the following page.
+     */
+    @GetMapping("/orders/search")
+    public ResponseEntity<ApiResponse<OrderSearchResponse>> searchOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) PaymentStatus paymentStatus,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String customer,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        OrderSearchResponse result = searchOrdersUseCase.execute(
+                status, paymentStatus, from, to, customer, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+
     @PatchMapping("/orders/{id}/status")
     public ResponseEntity<ApiResponse<OrderResponse>> updateOrderStatus(
             @PathVariable Long id,
@@ -68,6 +112,31 @@ public class AdminOperationsController {
         return ResponseEntity.ok(ApiResponse.success(OrderResponse.fromDomain(updated)));
     }
 
+    // ==================== DELIVERY RATES ====================
+
+    @GetMapping("/delivery-rates")
+    public ResponseEntity<ApiResponse<List<DeliveryRateDto>>> getDeliveryRates() {
+        List<DeliveryRateDto> rates = listDeliveryRatesUseCase.execute().stream()
+                .map(DeliveryRateDto::fromDomain)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(ApiResponse.success(rates));
+    }
+
+    /**
+     * Replace the whole rate table.
+     */
+    @PutMapping("/delivery-rates")
+    public ResponseEntity<ApiResponse<List<DeliveryRateDto>>> updateDeliveryRates(
+            @RequestBody List<@Valid DeliveryRateDto> request) {
+        List<DeliveryRateDto> rates = updateDeliveryRatesUseCase.execute(request.stream()
+                        .map(DeliveryRateDto::toDomain)
+                        .collect(Collectors.toList()))
+                .stream()
+                .map(DeliveryRateDto::fromDomain)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(ApiResponse.success(rates, "Tarifas de envío actualizadas"));
+    }
+
     @Data
     public static class UpdateStatusRequest {
         private OrderStatus status;
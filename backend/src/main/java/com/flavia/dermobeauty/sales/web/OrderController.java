@@ -1,7 +1,10 @@
 package com.flavia.dermobeauty.sales.web;
 
+import com.flavia.dermobeauty.sales.application.port.DeliveryQuote;
 import com.flavia.dermobeauty.sales.application.usecase.CreateOrderUseCase;
+import com.flavia.dermobeauty.sales.application.usecase.GetDeliveryQuoteUseCase;
 import com.flavia.dermobeauty.sales.application.usecase.GetOrderByNumberUseCase;
+import com.flavia.dermobeauty.sales.domain.DeliveryType;
 import com.flavia.dermobeauty.sales.domain.Order;
 import com.flavia.dermobeauty.sales.web.dto.CreateOrderRequest;
 import com.flavia.dermobeauty.sales.web.dto.OrderItemRequest;
@@ -14,6 +17,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -29,6 +33,7 @@ public class OrderController {
 
     private final CreateOrderUseCase createOrderUseCase;
     private final GetOrderByNumberUseCase getOrderByNumberUseCase;
+    private final GetDeliveryQuoteUseCase getDeliveryQuoteUseCase;
 
     @PostMapping
     public ResponseEntity<ApiResponse<OrderResponse>> createOrder(
@@ -58,6 +63,19 @@ public class OrderController {
                 .body(ApiResponse.success(response, "Order created successfully"));
     }
 
+    /**
+     * Delivery cost for the checkout, from the in-memory rate table.
+     */
+    @GetMapping("/delivery-quote")
+    public ResponseEntity<ApiResponse<DeliveryQuote>> getDeliveryQuote(
+            @RequestParam DeliveryType deliveryType,
+            @RequestParam(required = false) String province,
+            @RequestParam(required = false) String postalCode,
+            @RequestParam(required = false) BigDecimal subtotal) {
+        DeliveryQuote quote = getDeliveryQuoteUseCase.execute(deliveryType, province, postalCode, subtotal);
+        return ResponseEntity.ok(ApiResponse.success(quote));
+    }
+
     @GetMapping("/{orderNumber}")
     public ResponseEntity<ApiResponse<OrderResponse>> getOrderByNumber(
             @PathVariable String orderNumber) {
@@ -0,0 +1,45 @@
+package com.flavia.dermobeauty.sales.web.dto;
+
+import com.flavia.dermobeauty.sales.domain.DeliveryRate;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for a delivery rate. Leave both postal code bounds empty for a province-wide rate.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeliveryRateDto {
+
+    @NotBlank(message = "Province is required")
+    private String province;
+
+    private Integer postalCodeFrom;
+    private Integer postalCodeTo;
+
+    @NotNull(message = "Cost is required")
+    @DecimalMin(value = "0.0", message = "Cost cannot be negative")
+    private BigDecimal cost;
+
+    public static DeliveryRateDto fromDomain(DeliveryRate rate) {
+        return DeliveryRateDto.builder()
+                .province(rate.getProvince())
+                .postalCodeFrom(rate.getPostalCodeFrom())
+                .postalCodeTo(rate.getPostalCodeTo())
+                .cost(rate.getCost())
+                .build();
+    }
+
+    public DeliveryRate toDomain() {
+        return new DeliveryRate(province, postalCodeFrom, postalCodeTo, cost);
+    }
+}
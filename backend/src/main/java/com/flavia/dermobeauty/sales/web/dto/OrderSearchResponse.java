@@ -0,0 +1,22 @@
+package com.flavia.dermobeauty.sales.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the admin order search, plus the cursor for the next page
+ * (null when there are no more rows).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderSearchResponse {
+
+    private List<OrderSummaryResponse> items;
+    private String nextCursor;
+}
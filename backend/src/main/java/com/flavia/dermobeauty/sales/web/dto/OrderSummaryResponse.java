@@ -0,0 +1,34 @@
+package com.flavia.dermobeauty.sales.web.dto;
+
+import com.flavia.dermobeauty.booking.domain.PaymentStatus;
+import com.flavia.dermobeauty.sales.domain.DeliveryType;
+import com.flavia.dermobeauty.sales.domain.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Order row for the admin table: order columns plus the item count, without the items.
+ * Also used as a JPQL constructor projection.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderSummaryResponse {
+
+    private Long id;
+    private String orderNumber;
+    private String customerName;
+    private String customerEmail;
+    private DeliveryType deliveryType;
+    private BigDecimal total;
+    private OrderStatus status;
+    private PaymentStatus paymentStatus;
+    private LocalDateTime createdAt;
+    private Integer itemCount;
+}
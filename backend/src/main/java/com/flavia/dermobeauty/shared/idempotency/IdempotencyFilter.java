@@ -0,0 +1,243 @@
+package com.flavia.dermobeauty.shared.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flavia.dermobeauty.shared.web.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * Honours the Idempotency-Key header on the public create endpoints.
+ *
+ * The first request with a key runs normally and, if it succeeded (2xx), its
+ * response is stored. Errors are not: a validation error or a taken slot must
+ * not stick to the key, so a retry runs again. Later requests with the same key get
+ * the stored response replayed byte for byte, without reaching the
+ * controller. A duplicate that arrives while the first is still running waits
+ * for it instead of racing it. Reusing a key with a different body is
+ * rejected. In-flight coordination is in memory (single instance, like the
+ * other in-process caches); completed responses are also in the database.
+ */
+@Slf4j
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> IDEMPOTENT_PATHS = Set.of("/api/public/bookings", "/api/public/orders");
+    private static final Pattern KEY_PATTERN = Pattern.compile("[A-Za-z0-9._:-]{1,100}");
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Duration waitTimeout;
+    private final Map<String, CompletableFuture<Optional<IdempotencyStore.StoredResponse>>> inFlight =
+            new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(
+            IdempotencyStore store,
+            ObjectMapper objectMapper,
+            @Value("${app.idempotency.wait-timeout:PT30S}") Duration waitTimeout) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || !IDEMPOTENT_PATHS.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String clientKey = request.getHeader(HEADER);
+        if (!KEY_PATTERN.matcher(clientKey).matches()) {
+            writeError(request, response, HttpStatus.BAD_REQUEST, "VALIDATION_ERROR",
+                    "Idempotency-Key inválida: hasta 100 letras, números o . _ : -");
+            return;
+        }
+
+        String key = request.getRequestURI() + ":" + clientKey;
+        byte[] body = request.getInputStream().readAllBytes();
+        String requestHash = sha256(body);
+
+        Optional<IdempotencyStore.StoredResponse> stored = store.find(key);
+        if (stored.isPresent()) {
+            replay(request, response, stored.get(), requestHash);
+            return;
+        }
+
+        CompletableFuture<Optional<IdempotencyStore.StoredResponse>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<IdempotencyStore.StoredResponse>> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            awaitAndReplay(request, response, running, requestHash);
+            return;
+        }
+
+        Optional<IdempotencyStore.StoredResponse> result = Optional.empty();
+        try {
+            // Re-check: the first request may have finished between the lookup and the claim
+            result = store.find(key);
+            if (result.isPresent()) {
+                replay(request, response, result.get(), requestHash);
+                return;
+            }
+
+            ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+            chain.doFilter(new CachedBodyRequest(request, body), wrapper);
+
+            try {
+                if (wrapper.getStatus() >= 200 && wrapper.getStatus() < 300) {
+                    result = Optional.of(store.save(key, requestHash, wrapper.getStatus(),
+                            wrapper.getContentType(), wrapper.getContentAsByteArray()));
+                }
+            } catch (RuntimeException e) {
+                // The request itself went through; the client still gets its response
+                log.error("Could not store response for {} {}", request.getRequestURI(), clientKey, e);
+            } finally {
+                wrapper.copyBodyToResponse();
+            }
+        } finally {
+            inFlight.remove(key, mine);
+            mine.complete(result);
+        }
+    }
+
+    private void awaitAndReplay(HttpServletRequest request, HttpServletResponse response,
+                                CompletableFuture<Optional<IdempotencyStore.StoredResponse>> running,
+                                String requestHash) throws IOException {
+        log.info("Duplicate request {} {} waiting for the first one", request.getRequestURI(), request.getHeader(HEADER));
+        try {
+            Optional<IdempotencyStore.StoredResponse> result =
+                    running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (result.isPresent()) {
+                replay(request, response, result.get(), requestHash);
+                return;
+            }
+        } catch (TimeoutException | ExecutionException e) {
+            log.warn("Gave up waiting for request {} {}", request.getRequestURI(), request.getHeader(HEADER));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // The first request failed without a storable response (or is still running)
+        writeError(request, response, HttpStatus.CONFLICT, "CONFLICT",
+                "La solicitud original todavía no terminó o falló. Intentá nuevamente.");
+    }
+
+    private void replay(HttpServletRequest request, HttpServletResponse response,
+                        IdempotencyStore.StoredResponse stored, String requestHash) throws IOException {
+        if (!stored.requestHash().equals(requestHash)) {
+            writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY, "IDEMPOTENCY_KEY_REUSED",
+                    "La Idempotency-Key ya se usó con otra solicitud");
+            return;
+        }
+        log.info("Replaying stored response for {} {}", request.getRequestURI(), request.getHeader(HEADER));
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                            String error, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(error, message, request.getRequestURI()));
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Request whose body was already read, served again from memory.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.flavia.dermobeauty.shared.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Completed responses by idempotency key: a bounded in-memory LRU in front of
+ * the idempotency_keys table. Recent retries are answered from memory; older
+ * ones (or after a restart) from the table.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final Map<String, StoredResponse> recent;
+
+    public IdempotencyStore(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${app.idempotency.cache-size:1000}") int cacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.recent = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public Optional<StoredResponse> find(String key) {
+        StoredResponse cached = recent.get(key);
+        if (cached != null) {
+            if (cached.expiresAt().isAfter(LocalDateTime.now())) {
+                return Optional.of(cached);
+            }
+            recent.remove(key);
+            return Optional.empty();
+        }
+
+        List<StoredResponse> rows = jdbcTemplate.query(
+                "SELECT request_hash, status_code, content_type, body, expires_at FROM idempotency_keys " +
+                        "WHERE idempotency_key = ? AND expires_at > NOW()",
+                (rs, rowNum) -> new StoredResponse(
+                        rs.getString("request_hash"),
+                        rs.getInt("status_code"),
+                        rs.getString("content_type"),
+                        rs.getBytes("body"),
+                        rs.getTimestamp("expires_at").toLocalDateTime()),
+                key);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        recent.put(key, rows.get(0));
+        return Optional.of(rows.get(0));
+    }
+
+    /**
+     * Stores a completed response. The first stored response for a key wins.
+     */
+    public StoredResponse save(String key, String requestHash, int status, String contentType, byte[] body) {
+        StoredResponse response = new StoredResponse(requestHash, status, contentType, body, LocalDateTime.now().plus(ttl));
+        jdbcTemplate.update(
+                "INSERT INTO idempotency_keys (idempotency_key, request_hash, status_code, content_type, body, expires_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT (idempotency_key) DO NOTHING",
+                key, requestHash, status, contentType, body, Timestamp.valueOf(response.expiresAt()));
+        recent.put(key, response);
+        return response;
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at <= NOW()");
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    public record StoredResponse(String requestHash, int status, String contentType, byte[] body,
+                                 LocalDateTime expiresAt) {
+    }
+}
@@ -6,6 +6,7 @@ import com.flavia.dermobeauty.shared.exception.PaymentException;
 import com.flavia.dermobeauty.shared.exception.ResourceNotFoundException;
 import com.flavia.dermobeauty.shared.exception.ValidationException;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
@@ -82,6 +83,33 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    /**
+     * Bean validation of list bodies and parameters (controllers annotated @Validated).
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorResponse> handleConstraintViolation(
+            ConstraintViolationException ex,
+            HttpServletRequest request) {
+
+        Map<String, String> fieldErrors = new HashMap<>();
+        ex.getConstraintViolations().forEach(violation -> {
+            // "method.argument[0].field" -> "argument[0].field"
+            String path = violation.getPropertyPath().toString();
+            fieldErrors.put(path.substring(path.indexOf('.') + 1), violation.getMessage());
+        });
+
+        log.warn("Bean validation failed: {}", fieldErrors);
+
+        ErrorResponse error = new ErrorResponse(
+                "VALIDATION_ERROR",
+                "Invalid request data",
+                request.getRequestURI(),
+                fieldErrors
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     @ExceptionHandler(PaymentException.class)
     public ResponseEntity<ErrorResponse> handlePayment(
             PaymentException ex,
@@ -0,0 +1,125 @@
+-- V15: Replace the global collision lock with range exclusion constraints
+-- V13/V14 serialized every booking and block write behind one advisory lock
+-- and re-scanned both tables with COUNT(*). Overlaps inside a table are now
+-- rejected by GiST exclusion constraints; the booking <-> block cross check
+-- keeps a trigger, but only locks the affected days.
+-- Error contract is unchanged: SQLSTATE 23P01 and a message containing 'slot_occupied'.
+
+-- 1. Store the booking end instant (exclusion constraints need an immutable expression)
+ALTER TABLE bookings ADD COLUMN end_at TIMESTAMPTZ;
+
+UPDATE bookings
+SET end_at = start_at + (duration_minutes * INTERVAL '1 minute');
+
+ALTER TABLE bookings ALTER COLUMN end_at SET NOT NULL;
+
+ALTER TABLE bookings ADD CONSTRAINT chk_booking_end_after_start CHECK (end_at > start_at);
+
+-- 2. Same-table overlaps: exclusion constraints (index-backed, no table lock)
+ALTER TABLE bookings ADD CONSTRAINT bookings_slot_occupied
+    EXCLUDE USING gist (tstzrange(start_at, end_at, '[)') WITH &&)
+    WHERE (status IN ('PENDING', 'CONFIRMED'));
+
+ALTER TABLE blocks ADD CONSTRAINT blocks_slot_occupied
+    EXCLUDE USING gist (tstzrange(start_at, end_at, '[)') WITH &&)
+    WHERE (status = 'ACTIVE');
+
+-- 3. Per-day advisory locks (Buenos Aires calendar days touched by [p_start, p_end))
+-- Bookings take them shared so parallel bookings never wait on each other;
+-- blocks take them exclusive so a booking and a block on the same day serialize.
+-- Days are locked in ascending order, so two writers can not deadlock.
+CREATE OR REPLACE FUNCTION lock_agenda_days(p_start TIMESTAMPTZ, p_end TIMESTAMPTZ, p_exclusive BOOLEAN)
+RETURNS VOID AS $$
+DECLARE
+    lock_day DATE;
+BEGIN
+    FOR lock_day IN
+        SELECT generate_series(
+                   (p_start AT TIME ZONE 'America/Argentina/Buenos_Aires')::date,
+                   ((p_end - INTERVAL '1 microsecond') AT TIME ZONE 'America/Argentina/Buenos_Aires')::date,
+                   INTERVAL '1 day')::date
+    LOOP
+        IF p_exclusive THEN
+            PERFORM pg_advisory_xact_lock(hashtext('agenda_day'), lock_day - DATE '2000-01-01');
+        ELSE
+            PERFORM pg_advisory_xact_lock_shared(hashtext('agenda_day'), lock_day - DATE '2000-01-01');
+        END IF;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 4. Booking trigger: keep end_at in sync, then check against active blocks only
+CREATE OR REPLACE FUNCTION check_booking_collision()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.end_at := NEW.start_at + (NEW.duration_minutes * INTERVAL '1 minute');
+
+    -- Only check if booking occupies time (PENDING or CONFIRMED)
+    IF NEW.status NOT IN ('PENDING', 'CONFIRMED') THEN
+        RETURN NEW;
+    END IF;
+
+    -- Payment/customer updates do not move the booking: nothing to check
+    IF TG_OP = 'UPDATE'
+       AND OLD.status IN ('PENDING', 'CONFIRMED')
+       AND OLD.start_at = NEW.start_at
+       AND OLD.end_at = NEW.end_at THEN
+        RETURN NEW;
+    END IF;
+
+    PERFORM lock_agenda_days(NEW.start_at, NEW.end_at, FALSE);
+
+    IF EXISTS (
+        SELECT 1
+        FROM blocks bl
+        WHERE bl.status = 'ACTIVE'
+          AND tstzrange(bl.start_at, bl.end_at, '[)') && tstzrange(NEW.start_at, NEW.end_at, '[)')
+    ) THEN
+        RAISE EXCEPTION 'slot_occupied' USING ERRCODE = '23P01';
+    END IF;
+
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 5. Block trigger: check against occupying bookings only
+CREATE OR REPLACE FUNCTION check_block_collision()
+RETURNS TRIGGER AS $$
+BEGIN
+    -- Only check for ACTIVE blocks
+    IF NEW.status != 'ACTIVE' THEN
+        RETURN NEW;
+    END IF;
+
+    IF TG_OP = 'UPDATE'
+       AND OLD.status = 'ACTIVE'
+       AND OLD.start_at = NEW.start_at
+       AND OLD.end_at = NEW.end_at THEN
+        RETURN NEW;
+    END IF;
+
+    PERFORM lock_agenda_days(NEW.start_at, NEW.end_at, TRUE);
+
+    IF EXISTS (
+        SELECT 1
+        FROM bookings b
+        WHERE b.status IN ('PENDING', 'CONFIRMED')
+          AND tstzrange(b.start_at, b.end_at, '[)') && tstzrange(NEW.start_at, NEW.end_at, '[)')
+    ) THEN
+        RAISE EXCEPTION 'slot_occupied' USING ERRCODE = '23P01';
+    END IF;
+
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 6. The single-row lock table from V13 is no longer used
+DROP TABLE IF EXISTS agenda_lock;
+
+-- Comments
+COMMENT ON COLUMN bookings.end_at IS 'Booking end time (start_at + duration_minutes), maintained by trg_check_booking_collision';
+COMMENT ON CONSTRAINT bookings_slot_occupied ON bookings IS 'No two PENDING/CONFIRMED bookings may overlap';
+COMMENT ON CONSTRAINT blocks_slot_occupied ON blocks IS 'No two ACTIVE blocks may overlap';
+COMMENT ON FUNCTION lock_agenda_days(TIMESTAMPTZ, TIMESTAMPTZ, BOOLEAN) IS 'Per-day advisory locks serializing booking vs block writes on the same day.';
+COMMENT ON FUNCTION check_booking_collision() IS 'Maintains end_at and rejects bookings overlapping an active block. Booking overlaps are handled by bookings_slot_occupied.';
+COMMENT ON FUNCTION check_block_collision() IS 'Rejects blocks overlapping an occupying booking. Block overlaps are handled by blocks_slot_occupied.';
@@ -0,0 +1,9 @@
+-- V16: Index occupying bookings by (start_at, end_at)
+-- Overlap checks (start_at < :endAt AND end_at > :startAt) now run on stored
+-- columns; the V11 index on (start_at, duration_minutes) needed arithmetic
+-- on every row and is replaced.
+
+CREATE INDEX idx_bookings_occupying_range ON bookings(start_at, end_at)
+    WHERE status IN ('PENDING', 'CONFIRMED');
+
+DROP INDEX IF EXISTS idx_bookings_occupying;
@@ -0,0 +1,56 @@
+-- V17: Agenda change sequence for calendar delta sync
+-- Every insert or update on bookings and blocks stamps the row with the next
+-- value of one shared sequence. The admin calendar polls for rows above the
+-- last value it has seen instead of reloading the whole visible range.
+-- Cancellations are updates, so they show up as deltas too (nothing is deleted).
+
+CREATE SEQUENCE agenda_change_seq;
+
+ALTER TABLE bookings ADD COLUMN change_seq BIGINT;
+ALTER TABLE blocks ADD COLUMN change_seq BIGINT;
+
+-- Backfill existing rows in modification order
+UPDATE bookings b
+SET change_seq = s.seq
+FROM (
+    SELECT id, nextval('agenda_change_seq') AS seq
+    FROM (SELECT id FROM bookings ORDER BY updated_at, id) ordered
+) s
+WHERE b.id = s.id;
+
+UPDATE blocks bl
+SET change_seq = s.seq
+FROM (
+    SELECT id, nextval('agenda_change_seq') AS seq
+    FROM (SELECT id FROM blocks ORDER BY updated_at, id) ordered
+) s
+WHERE bl.id = s.id;
+
+ALTER TABLE bookings ALTER COLUMN change_seq SET NOT NULL;
+ALTER TABLE blocks ALTER COLUMN change_seq SET NOT NULL;
+
+CREATE OR REPLACE FUNCTION stamp_agenda_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.change_seq := nextval('agenda_change_seq');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_bookings_change_seq
+    BEFORE INSERT OR UPDATE ON bookings
+    FOR EACH ROW
+    EXECUTE FUNCTION stamp_agenda_change();
+
+CREATE TRIGGER trg_blocks_change_seq
+    BEFORE INSERT OR UPDATE ON blocks
+    FOR EACH ROW
+    EXECUTE FUNCTION stamp_agenda_change();
+
+CREATE UNIQUE INDEX idx_bookings_change_seq ON bookings(change_seq);
+CREATE UNIQUE INDEX idx_blocks_change_seq ON blocks(change_seq);
+
+-- Comments
+COMMENT ON SEQUENCE agenda_change_seq IS 'Shared change counter for bookings and blocks (calendar delta sync)';
+COMMENT ON COLUMN bookings.change_seq IS 'agenda_change_seq value of the last insert/update, maintained by trg_bookings_change_seq';
+COMMENT ON COLUMN blocks.change_seq IS 'agenda_change_seq value of the last insert/update, maintained by trg_blocks_change_seq';
@@ -0,0 +1,34 @@
+-- V18: Stock reservations for pending orders
+-- Order creation reserves the ordered quantities for a limited time, so two
+-- checkouts can not both count on the last units. Payment confirmation
+-- consumes the reservation (and decrements products.stock); expired ones are
+-- released by a background sweeper.
+-- Available stock = products.stock - SUM(quantity) of ACTIVE, unexpired reservations.
+
+CREATE TABLE stock_reservations (
+    id BIGSERIAL PRIMARY KEY,
+    order_id BIGINT NOT NULL REFERENCES orders(id) ON DELETE CASCADE,
+    product_id BIGINT NOT NULL REFERENCES products(id),
+    quantity INTEGER NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE'
+        CHECK (status IN ('ACTIVE', 'CONSUMED', 'RELEASED')),
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    closed_at TIMESTAMP,
+
+    CONSTRAINT chk_reservation_quantity_positive CHECK (quantity > 0),
+    CONSTRAINT uq_reservation_order_product UNIQUE (order_id, product_id)
+);
+
+-- Startup reload and per-product sums only look at active rows
+CREATE INDEX idx_stock_reservations_active_product ON stock_reservations(product_id)
+    WHERE status = 'ACTIVE';
+
+-- Sweeper: oldest expiring active rows first
+CREATE INDEX idx_stock_reservations_active_expiry ON stock_reservations(expires_at)
+    WHERE status = 'ACTIVE';
+
+-- Comments
+COMMENT ON TABLE stock_reservations IS 'Time-limited stock holds for pending orders';
+COMMENT ON COLUMN stock_reservations.status IS 'ACTIVE (holding stock), CONSUMED (paid, stock decremented), RELEASED (expired or cancelled)';
+COMMENT ON COLUMN stock_reservations.expires_at IS 'After this instant the hold no longer counts and the sweeper releases it';
@@ -0,0 +1,24 @@
+-- V19: Hot product stock mode
+-- Products flagged hot_stock keep their live stock in in-memory counters, so
+-- flash-sale checkouts do not queue on the products row lock. Every committed
+-- stock movement of a hot product is written to stock_journal in the same
+-- transaction as the order change; a background flusher applies the net delta
+-- per product to products.stock and deletes the applied rows in one statement.
+-- After a crash the journal is drained at startup before the counters load.
+-- The flag is read at startup.
+
+ALTER TABLE products ADD COLUMN hot_stock BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE TABLE stock_journal (
+    id BIGSERIAL PRIMARY KEY,
+    product_id BIGINT NOT NULL REFERENCES products(id),
+    delta INTEGER NOT NULL,
+    order_id BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT chk_stock_journal_delta_non_zero CHECK (delta <> 0)
+);
+
+-- Comments
+COMMENT ON COLUMN products.hot_stock IS 'Hot product mode: stock served from in-memory counters, persisted write-behind via stock_journal (read at startup)';
+COMMENT ON TABLE stock_journal IS 'Stock deltas of hot products not yet applied to products.stock';
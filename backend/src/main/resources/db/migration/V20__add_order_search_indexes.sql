@@ -0,0 +1,17 @@
+-- V20: Indexes for keyset-paginated admin order search
+-- The search walks orders newest first by (created_at, id) and seeks past the
+-- last row of the previous page, so every page costs the same as page one.
+-- Each filter column leads its own composite index ending in the sort key.
+
+CREATE INDEX idx_orders_created_id ON orders(created_at DESC, id DESC);
+CREATE INDEX idx_orders_status_created_id ON orders(status, created_at DESC, id DESC);
+CREATE INDEX idx_orders_payment_status_created_id ON orders(payment_status, created_at DESC, id DESC);
+
+-- Customer prefix search (LOWER(col) LIKE 'prefix%')
+CREATE INDEX idx_orders_customer_email_prefix ON orders(LOWER(customer_email) text_pattern_ops);
+CREATE INDEX idx_orders_customer_name_prefix ON orders(LOWER(customer_name) text_pattern_ops);
+
+-- Superseded by the composite indexes above
+DROP INDEX IF EXISTS idx_orders_created_at;
+DROP INDEX IF EXISTS idx_orders_status;
+DROP INDEX IF EXISTS idx_orders_payment_status;
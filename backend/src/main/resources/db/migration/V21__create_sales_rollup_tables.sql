@@ -0,0 +1,70 @@
+-- V21: Daily sales rollups for the admin dashboard
+-- Paid, non-cancelled orders and bookings are aggregated per day (the day the
+-- order or booking was created). Payment confirmation adds to the rollups and
+-- cancelling a paid order or booking subtracts from them, in the same
+-- transaction as the change. Reports read only these tables.
+-- POST /api/admin/reports/rebuild recomputes them from scratch.
+
+CREATE TABLE report_daily_sales (
+    day DATE PRIMARY KEY,
+    order_count INTEGER NOT NULL DEFAULT 0,
+    order_revenue DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    units_sold INTEGER NOT NULL DEFAULT 0,
+    booking_count INTEGER NOT NULL DEFAULT 0,
+    booking_revenue DECIMAL(12, 2) NOT NULL DEFAULT 0
+);
+
+CREATE TABLE report_daily_products (
+    day DATE NOT NULL,
+    product_id BIGINT NOT NULL,
+    product_name VARCHAR(200) NOT NULL,
+    units INTEGER NOT NULL DEFAULT 0,
+    revenue DECIMAL(12, 2) NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (day, product_id)
+);
+
+CREATE TABLE report_daily_services (
+    day DATE NOT NULL,
+    service_id BIGINT NOT NULL,
+    service_name VARCHAR(200),
+    booking_count INTEGER NOT NULL DEFAULT 0,
+    revenue DECIMAL(12, 2) NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (day, service_id)
+);
+
+-- Backfill from existing data
+INSERT INTO report_daily_sales (day, order_count, order_revenue, units_sold)
+SELECT o.created_at::date, COUNT(*), SUM(o.total),
+       SUM((SELECT COALESCE(SUM(i.quantity), 0) FROM order_items i WHERE i.order_id = o.id))
+FROM orders o
+WHERE o.payment_status = 'PAID' AND o.status <> 'CANCELLED'
+GROUP BY o.created_at::date;
+
+INSERT INTO report_daily_sales (day, booking_count, booking_revenue)
+SELECT b.created_at::date, COUNT(*), SUM(b.amount)
+FROM bookings b
+WHERE b.payment_status = 'PAID' AND b.status <> 'CANCELLED'
+GROUP BY b.created_at::date
+ON CONFLICT (day) DO UPDATE SET
+    booking_count = EXCLUDED.booking_count,
+    booking_revenue = EXCLUDED.booking_revenue;
+
+INSERT INTO report_daily_products (day, product_id, product_name, units, revenue)
+SELECT o.created_at::date, i.product_id, MAX(i.product_name), SUM(i.quantity), SUM(i.subtotal)
+FROM order_items i
+JOIN orders o ON o.id = i.order_id
+WHERE o.payment_status = 'PAID' AND o.status <> 'CANCELLED'
+GROUP BY o.created_at::date, i.product_id;
+
+INSERT INTO report_daily_services (day, service_id, service_name, booking_count, revenue)
+SELECT b.created_at::date, b.service_id, MAX(b.service_name), COUNT(*), SUM(b.amount)
+FROM bookings b
+WHERE b.payment_status = 'PAID' AND b.status <> 'CANCELLED'
+GROUP BY b.created_at::date, b.service_id;
+
+-- Comments
+COMMENT ON TABLE report_daily_sales IS 'Daily totals of paid, non-cancelled orders and bookings (maintained incrementally)';
+COMMENT ON TABLE report_daily_products IS 'Daily units and revenue per product of paid, non-cancelled orders';
+COMMENT ON TABLE report_daily_services IS 'Daily bookings and revenue per service of paid, non-cancelled bookings';
@@ -0,0 +1,34 @@
+-- V22: Zone-based delivery pricing
+-- A rate applies to a province, optionally narrowed to a postal code range
+-- (numeric part of the code, e.g. 1425 for C1425ABC). The most specific match
+-- wins: postal range, then the province-wide rate (no range), then
+-- delivery.fixed_cost. Orders whose subtotal reaches delivery.free_threshold
+-- ship free. The table is loaded into memory at startup and reloaded when
+-- the admin replaces it.
+
+CREATE TABLE delivery_rates (
+    id BIGSERIAL PRIMARY KEY,
+    province VARCHAR(100) NOT NULL,
+    postal_code_from INTEGER,
+    postal_code_to INTEGER,
+    cost DECIMAL(10, 2) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT chk_delivery_rates_cost_non_negative CHECK (cost >= 0),
+    CONSTRAINT chk_delivery_rates_postal_range CHECK (
+        (postal_code_from IS NULL AND postal_code_to IS NULL)
+        OR (postal_code_from IS NOT NULL AND postal_code_to IS NOT NULL AND postal_code_from <= postal_code_to)
+    )
+);
+
+INSERT INTO app_config (config_key, config_value, description)
+VALUES ('delivery.free_threshold', '0', 'Subtotal mínimo para envío gratis en ARS (0 = sin envío gratis)')
+ON CONFLICT (config_key) DO NOTHING;
+
+UPDATE app_config
+SET description = 'Costo de envío a domicilio cuando ninguna tarifa por zona aplica, en ARS'
+WHERE config_key = 'delivery.fixed_cost';
+
+-- Comments
+COMMENT ON TABLE delivery_rates IS 'Home delivery cost per province and optional postal code range';
+COMMENT ON COLUMN delivery_rates.postal_code_from IS 'Numeric postal code range start (inclusive); NULL with postal_code_to for a province-wide rate';
@@ -0,0 +1,21 @@
+-- V23: Idempotency keys for public POST endpoints
+-- Completed responses to requests sent with an Idempotency-Key header are
+-- kept here (behind an in-memory LRU) so a retry gets the same response
+-- without running the request again. Rows expire after a day.
+
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(300) PRIMARY KEY,
+    request_hash CHAR(64) NOT NULL,
+    status_code INTEGER NOT NULL,
+    content_type VARCHAR(200),
+    body BYTEA NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
+
+-- Comments
+COMMENT ON TABLE idempotency_keys IS 'Stored responses of POST requests sent with an Idempotency-Key header';
+COMMENT ON COLUMN idempotency_keys.idempotency_key IS 'Request path plus the client key';
+COMMENT ON COLUMN idempotency_keys.request_hash IS 'SHA-256 of the request body; a reused key with another body is rejected';
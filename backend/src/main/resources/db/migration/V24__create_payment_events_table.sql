@@ -0,0 +1,36 @@
+-- V24: Inbox for Mercado Pago payment notifications
+-- The webhook only stores the notification here and answers 200; a worker
+-- pool claims pending rows (FOR UPDATE SKIP LOCKED), verifies the payment
+-- with the Mercado Pago API and confirms the booking or order. Failures are
+-- retried with exponential backoff until max attempts, then left as DEAD.
+
+CREATE TABLE payment_events (
+    id BIGSERIAL PRIMARY KEY,
+    payment_id VARCHAR(100) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    locked_until TIMESTAMP,
+    last_error TEXT,
+    received_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP,
+
+    CONSTRAINT chk_payment_events_status CHECK (status IN ('PENDING', 'PROCESSING', 'DONE', 'DEAD'))
+);
+
+-- Repeated notifications for a payment still waiting in the queue collapse into
+-- one row (one arriving while a worker is on it is queued again: the payment
+-- status may have changed since the worker read it)
+CREATE UNIQUE INDEX uq_payment_events_pending_payment ON payment_events(payment_id)
+    WHERE status = 'PENDING';
+
+CREATE INDEX idx_payment_events_pending ON payment_events(next_attempt_at)
+    WHERE status = 'PENDING';
+
+CREATE INDEX idx_payment_events_processing ON payment_events(locked_until)
+    WHERE status = 'PROCESSING';
+
+-- Comments
+COMMENT ON TABLE payment_events IS 'Mercado Pago payment notifications waiting to be (or already) processed';
+COMMENT ON COLUMN payment_events.status IS 'PENDING, PROCESSING (claimed by a worker until locked_until), DONE or DEAD (gave up)';
+COMMENT ON COLUMN payment_events.locked_until IS 'Claim lease; a PROCESSING row past it is claimed again (worker died)';
@@ -0,0 +1,30 @@
+-- V25: Registry of Mercado Pago payments already applied
+-- Mercado Pago delivers the same notification several times. Once a payment
+-- has confirmed its booking or order it is recorded here (and in a bounded
+-- in-memory set loaded from the most recent rows), so later copies are
+-- dropped before any call to the Mercado Pago API.
+
+CREATE TABLE processed_payments (
+    payment_id VARCHAR(200) PRIMARY KEY,
+    external_reference VARCHAR(100) NOT NULL,
+    processed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_processed_payments_processed_at ON processed_payments(processed_at);
+
+-- Payments confirmed before this table existed
+INSERT INTO processed_payments (payment_id, external_reference, processed_at)
+SELECT mercadopago_payment_id, 'BOOKING-' || booking_number, COALESCE(confirmed_at, updated_at)
+FROM bookings
+WHERE mercadopago_payment_id IS NOT NULL AND payment_status = 'PAID'
+ON CONFLICT (payment_id) DO NOTHING;
+
+INSERT INTO processed_payments (payment_id, external_reference, processed_at)
+SELECT mercadopago_payment_id, 'ORDER-' || order_number, updated_at
+FROM orders
+WHERE mercadopago_payment_id IS NOT NULL AND payment_status = 'PAID'
+ON CONFLICT (payment_id) DO NOTHING;
+
+-- Comments
+COMMENT ON TABLE processed_payments IS 'Mercado Pago payments that already confirmed their booking or order';
+COMMENT ON COLUMN processed_payments.external_reference IS 'BOOKING-<number> or ORDER-<number> the payment confirmed';
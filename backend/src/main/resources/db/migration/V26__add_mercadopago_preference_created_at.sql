@@ -0,0 +1,14 @@
+-- V26: When the stored Mercado Pago preference was created
+-- Returning from a failed payment or reloading the checkout asks for a
+-- preference again. The booking or order already keeps the last preference
+-- id and the amount it charges; with its creation time the same preference
+-- is handed out again (no call to Mercado Pago) while it is younger than the
+-- configured TTL. Preferences stored before this column have no time and are
+-- replaced on the next request.
+
+ALTER TABLE bookings ADD COLUMN mercadopago_preference_created_at TIMESTAMP;
+ALTER TABLE orders ADD COLUMN mercadopago_preference_created_at TIMESTAMP;
+
+-- Comments
+COMMENT ON COLUMN bookings.mercadopago_preference_created_at IS 'When mercadopago_preference_id was created; reused while younger than the preference TTL';
+COMMENT ON COLUMN orders.mercadopago_preference_created_at IS 'When mercadopago_preference_id was created; reused while younger than the preference TTL';
@@ -0,0 +1,29 @@
+-- V27: Lossless calendar delta sync
+-- change_seq is taken when a row is written, not when its transaction
+-- commits, so a slow transaction can commit a value below a version the
+-- calendar already received. Each row now also records the id of the
+-- transaction that wrote it. Every transaction still in flight has an id at
+-- or above the snapshot xmin, so rows below the xmin are final and the xmin
+-- is a version that no later commit can fall behind.
+
+ALTER TABLE bookings ADD COLUMN change_xid BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE blocks ADD COLUMN change_xid BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE bookings ALTER COLUMN change_xid DROP DEFAULT;
+ALTER TABLE blocks ALTER COLUMN change_xid DROP DEFAULT;
+
+CREATE OR REPLACE FUNCTION stamp_agenda_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.change_seq := nextval('agenda_change_seq');
+    NEW.change_xid := pg_current_xact_id()::text::bigint;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE INDEX idx_bookings_change_xid ON bookings(change_xid, change_seq);
+CREATE INDEX idx_blocks_change_xid ON blocks(change_xid, change_seq);
+
+-- Comments
+COMMENT ON COLUMN bookings.change_xid IS 'Transaction id of the last insert/update (0 for rows written before V27), maintained by trg_bookings_change_seq';
+COMMENT ON COLUMN blocks.change_xid IS 'Transaction id of the last insert/update (0 for rows written before V27), maintained by trg_blocks_change_seq';
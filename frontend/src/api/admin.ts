@@ -5,10 +5,16 @@ import type {
   Category,
   Booking,
   Order,
+  OrderSummary,
+  OrderSearchParams,
+  OrderSearchResult,
+  SalesReport,
+  DeliveryRate,
   ConfigEntry,
   BookingStatus,
   OrderStatus,
   CalendarEvent,
+  CalendarChanges,
   Block,
   BookingHistoryEntry,
 } from '../types/domain';
@@ -149,6 +155,19 @@ export const adminApi = {
       );
       return response.data;
     },
+
+    /**
+     * Get events created, updated or cancelled after a version
+     * @param since Last version seen; omit to get only the current version
+     */
+    getChanges: async (since?: number): Promise<CalendarChanges> => {
+      const params = new URLSearchParams();
+      if (since !== undefined) params.append('since', since.toString());
+      const response = await apiClient.get<CalendarChanges>(
+        `/api/admin/calendar/changes?${params.toString()}`
+      );
+      return response.data;
+    },
   },
 
   // ==================== BLOCKS ====================
@@ -267,6 +286,27 @@ export const adminApi = {
       return response.data;
     },
 
+    getSummaries: async (page: number = 0, size: number = 10): Promise<PageResponse<OrderSummary>> => {
+      const params = new URLSearchParams();
+      params.append('page', page.toString());
+      params.append('size', size.toString());
+
+      const response = await apiClient.get<PageResponse<OrderSummary>>(`/api/admin/orders/summary?${params.toString()}`);
+      return response.data;
+    },
+
+    search: async (filters: OrderSearchParams = {}): Promise<OrderSearchResult> => {
+      const params = new URLSearchParams();
+      Object.entries(filters).forEach(([key, value]) => {
+        if (value !== undefined && value !== null && value !== '') {
+          params.append(key, value.toString());
+        }
+      });
+
+      const response = await apiClient.get<OrderSearchResult>(`/api/admin/orders/search?${params.toString()}`);
+      return response.data;
+    },
+
     updateStatus: async (id: number, status: OrderStatus): Promise<Order> => {
       const response = await apiClient.patch<Order>(`/api/admin/orders/${id}/status`, {
         status,
@@ -275,6 +315,19 @@ export const adminApi = {
     },
   },
 
+  // ==================== DELIVERY RATES ====================
+  deliveryRates: {
+    getAll: async (): Promise<DeliveryRate[]> => {
+      const response = await apiClient.get<DeliveryRate[]>('/api/admin/delivery-rates');
+      return response.data;
+    },
+
+    replaceAll: async (rates: DeliveryRate[]): Promise<DeliveryRate[]> => {
+      const response = await apiClient.put<DeliveryRate[]>('/api/admin/delivery-rates', rates);
+      return response.data;
+    },
+  },
+
   // ==================== CONFIG ====================
   config: {
     getAll: async (): Promise<ConfigEntry[]> => {
@@ -287,4 +340,40 @@ export const adminApi = {
       return response.data;
     },
   },
+
+  // ==================== REPORTS ====================
+  reports: {
+    getSales: async (from: string, to: string): Promise<SalesReport> => {
+      const params = new URLSearchParams({ from, to });
+      const response = await apiClient.get<SalesReport>(`/api/admin/reports/sales?${params.toString()}`);
+      return response.data;
+    },
+
+    rebuild: async (): Promise<number> => {
+      const response = await apiClient.post<number>('/api/admin/reports/rebuild');
+      return response.data;
+    },
+  },
+
+  // ==================== EXPORTS ====================
+  exports: {
+    // Dates are optional (YYYY-MM-DD, inclusive). No timeout: large exports stream for a while.
+    ordersCsv: async (from?: string, to?: string): Promise<Blob> => {
+      const response = await apiClient.get<Blob>('/api/admin/export/orders.csv', {
+        params: { from, to },
+        responseType: 'blob',
+        timeout: 0,
+      });
+      return response.data;
+    },
+
+    bookingsCsv: async (from?: string, to?: string): Promise<Blob> => {
+      const response = await apiClient.get<Blob>('/api/admin/export/bookings.csv', {
+        params: { from, to },
+        responseType: 'blob',
+        timeout: 0,
+      });
+      return response.data;
+    },
+  },
 };
@@ -1,6 +1,9 @@
 import apiClient from './client';
+import { idempotencyKeyFor } from '../utils/idempotency';
 import type {
   CreateOrderRequest,
+  DeliveryQuote,
+  DeliveryType,
   OrderResponse,
   PaymentPreferenceResponse,
 } from '../types/domain';
@@ -11,10 +14,27 @@ import type {
 
 export const pedidosApi = {
   /**
-   * Create a new order
+   * Create a new order. Retries of the same request reuse its Idempotency-Key.
    */
   create: async (request: CreateOrderRequest): Promise<OrderResponse> => {
-    const response = await apiClient.post<OrderResponse>('/api/public/orders', request);
+    const response = await apiClient.post<OrderResponse>('/api/public/orders', request, {
+      headers: { 'Idempotency-Key': idempotencyKeyFor('order', request) },
+    });
+    return response.data;
+  },
+
+  /**
+   * Quote delivery for the checkout (subtotal decides free shipping)
+   */
+  getDeliveryQuote: async (
+    deliveryType: DeliveryType,
+    province?: string,
+    postalCode?: string,
+    subtotal?: number
+  ): Promise<DeliveryQuote> => {
+    const response = await apiClient.get<DeliveryQuote>('/api/public/orders/delivery-quote', {
+      params: { deliveryType, province, postalCode, subtotal },
+    });
     return response.data;
   },
 
@@ -1,4 +1,5 @@
 import apiClient from './client';
+import { idempotencyKeyFor } from '../utils/idempotency';
 import type {
   CreateBookingRequest,
   BookingResponse,
@@ -8,8 +9,11 @@ import type {
 export const turnosApi = {
   // ... (mantén los métodos create, getByNumber, createPaymentPreference igual que antes)
 
+  // Retries of the same request reuse its Idempotency-Key
   create: async (request: CreateBookingRequest): Promise<BookingResponse> => {
-    const response = await apiClient.post<BookingResponse>('/api/public/bookings', request);
+    const response = await apiClient.post<BookingResponse>('/api/public/bookings', request, {
+      headers: { 'Idempotency-Key': idempotencyKeyFor('booking', request) },
+    });
     return response.data;
   },
 
@@ -32,5 +36,27 @@ export const turnosApi = {
       params: { serviceId, date }
     });
     return response.data; // Devuelve array de strings ["09:00", "09:30", ...]
+  },
+
+  // Disponibilidad de varios días en una sola llamada (máx. 60 días)
+  getAvailabilityRange: async (
+    serviceId: number,
+    from: string,
+    to: string
+  ): Promise<Record<string, string[]>> => {
+    const response = await apiClient.get<Record<string, string[]>>('/api/public/availability/range', {
+      params: { serviceId, from, to }
+    });
+    return response.data; // { "2025-01-10": ["09:00", ...], ... }
+  },
+
+  getMonthAvailability: async (
+    serviceId: number,
+    month: string
+  ): Promise<Record<string, number>> => {
+    const response = await apiClient.get<Record<string, number>>('/api/public/availability/month', {
+      params: { serviceId, month }
+    });
+    return response.data; // { "2025-01-01": 0, "2025-01-02": 14, ... }
   }
 };
\ No newline at end of file
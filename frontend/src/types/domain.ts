@@ -226,6 +226,71 @@ export interface Order {
   updatedAt: string;
 }
 
+// Admin order table row (no items)
+export interface OrderSummary {
+  id: number;
+  orderNumber: string;
+  customerName: string;
+  customerEmail: string;
+  deliveryType: DeliveryType;
+  total: number;
+  status: OrderStatus;
+  paymentStatus: PaymentStatus;
+  createdAt: string;
+  itemCount: number;
+}
+
+export interface OrderSearchParams {
+  status?: OrderStatus;
+  paymentStatus?: PaymentStatus;
+  from?: string;
+  to?: string;
+  customer?: string;
+  cursor?: string;
+  limit?: number;
+}
+
+export interface OrderSearchResult {
+  items: OrderSummary[];
+  nextCursor: string | null;
+}
+
+export interface DeliveryQuote {
+  cost: number;
+  baseCost: number;
+  freeShippingThreshold: number | null;
+  freeShipping: boolean;
+}
+
+export interface DeliveryRate {
+  province: string;
+  postalCodeFrom: number | null;
+  postalCodeTo: number | null;
+  cost: number;
+}
+
+export interface DailySales {
+  day: string;
+  orderCount: number;
+  orderRevenue: number;
+  unitsSold: number;
+  bookingCount: number;
+  bookingRevenue: number;
+}
+
+export interface SalesReport {
+  from: string;
+  to: string;
+  orderCount: number;
+  orderRevenue: number;
+  unitsSold: number;
+  bookingCount: number;
+  bookingRevenue: number;
+  days: DailySales[];
+  topProducts: { productId: number; productName: string; units: number; revenue: number }[];
+  services: { serviceId: number; serviceName: string | null; bookingCount: number; revenue: number }[];
+}
+
 export interface CreateOrderItemRequest {
   productId: number;
   quantity: number;
@@ -357,6 +422,13 @@ export interface CalendarBlockEvent {
 
 export type CalendarEvent = CalendarBookingEvent | CalendarBlockEvent;
 
+// Delta sync response for the admin calendar
+export interface CalendarChanges {
+  version: number;
+  events: (CalendarEvent & { changeSeq: number })[];
+  hasMore: boolean;
+}
+
 // ==================== BOOKING HISTORY ====================
 
 export interface BookingHistoryEntry {
@@ -0,0 +1,20 @@
+/**
+ * Idempotency keys for public create requests.
+ *
+ * A retry of the same payload (double tap, or tapping again after a lost
+ * response) reuses the key, so the backend replays the first result instead
+ * of creating a second booking or order. A changed payload gets a new key.
+ * Keys live until the page unloads (checkout always ends in a redirect).
+ */
+const lastAttempts = new Map<string, { payload: string; key: string }>();
+
+export function idempotencyKeyFor(scope: string, payload: unknown): string {
+  const serialized = JSON.stringify(payload);
+  const last = lastAttempts.get(scope);
+  if (last && last.payload === serialized) {
+    return last.key;
+  }
+  const key = crypto.randomUUID();
+  lastAttempts.set(scope, { payload: serialized, key });
+  return key;
+}
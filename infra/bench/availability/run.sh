@@ -0,0 +1,15 @@
+#!/usr/bin/env bash
+# Available-slot computation: occupancy bitmap vs the per-slot overlap loop.
+#
+# JMH benchmark DayOccupancyBenchmark (backend, bench profile). No database
+# needed: both implementations run on the same generated agenda, 30 days per
+# call, and setup fails if they disagree. Compare the "bitmap" and "loop"
+# rows: avgt is microseconds per call, gc.alloc.rate.norm bytes per call.
+#
+# Usage: run.sh [extra JMH options, e.g. -p eventsPerDay=16]
+set -euo pipefail
+
+DIR="$(cd "$(dirname "$0")" && pwd)"
+cd "$DIR/../../../backend"
+
+mvn -B -q -Pbench test-compile exec:exec -Dbench.include=DayOccupancyBenchmark -Dbench.args="$*"
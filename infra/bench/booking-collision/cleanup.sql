@@ -0,0 +1,3 @@
+DELETE FROM bookings WHERE booking_number LIKE 'BENCH-%';
+DELETE FROM services WHERE slug = 'bench-service';
+DROP SEQUENCE IF EXISTS bench_booking_seq;
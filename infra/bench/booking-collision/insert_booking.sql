@@ -0,0 +1,12 @@
+-- One booking per transaction. Every transaction gets its own 30-minute slot
+-- (20 slots per day), so writers contend on the same days without colliding.
+INSERT INTO bookings (booking_number, service_id, customer_name, customer_email, customer_whatsapp,
+                      booking_date, booking_time, start_at, duration_minutes, status, payment_status, amount)
+SELECT 'BENCH-' || n,
+       (SELECT id FROM services WHERE slug = 'bench-service'),
+       'Bench', 'bench@example.com', '0',
+       DATE '2099-01-01' + (n / 20)::int,
+       TIME '09:00' + (n % 20) * INTERVAL '30 minutes',
+       TIMESTAMPTZ '2099-01-01 09:00-03' + (n / 20) * INTERVAL '1 day' + (n % 20) * INTERVAL '30 minutes',
+       30, 'PENDING', 'PENDING', 1000
+FROM (SELECT nextval('bench_booking_seq') AS n) s;
@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+# Booking-creation throughput under parallel writers.
+#
+# Run it once against a database migrated up to V14 (global advisory lock)
+# and once after V15 (exclusion constraints + per-day locks), then compare
+# the "tps" lines:
+#
+#   before: a fresh database started with spring.flyway.target=14
+#   after:  the same database after a normal start (applies V15)
+#
+# Usage: run.sh [clients] [seconds]   (connection via PGHOST/PGUSER/PGDATABASE/...)
+set -euo pipefail
+
+CLIENTS="${1:-16}"
+SECONDS_TO_RUN="${2:-30}"
+DIR="$(cd "$(dirname "$0")" && pwd)"
+
+psql -v ON_ERROR_STOP=1 -q -f "$DIR/cleanup.sql"
+psql -v ON_ERROR_STOP=1 -q -f "$DIR/setup.sql"
+
+pgbench -n -c "$CLIENTS" -j "$CLIENTS" -T "$SECONDS_TO_RUN" -f "$DIR/insert_booking.sql"
+
+psql -v ON_ERROR_STOP=1 -q -f "$DIR/cleanup.sql"
@@ -0,0 +1,7 @@
+-- Benchmark fixture: a dedicated service and a slot counter.
+-- Bookings are written in 2099 so they never touch real agenda data.
+CREATE SEQUENCE IF NOT EXISTS bench_booking_seq;
+
+INSERT INTO services (name, slug, description, duration_minutes, price, is_active)
+VALUES ('Benchmark service', 'bench-service', 'pgbench fixture', 30, 1000, FALSE)
+ON CONFLICT (slug) DO NOTHING;
@@ -0,0 +1,4 @@
+DELETE FROM blocks WHERE block_number LIKE 'BENCH-CAL-%';
+DELETE FROM bookings WHERE booking_number LIKE 'BENCH-CAL-%';
+DELETE FROM services WHERE slug = 'bench-service'
+    AND NOT EXISTS (SELECT 1 FROM bookings b WHERE b.service_id = services.id);
@@ -0,0 +1,24 @@
+#!/usr/bin/env bash
+# Calendar month and year views: JPQL projection vs the entity path.
+#
+# JMH benchmark CalendarViewBenchmark (backend, bench profile). Seeds about
+# 7,200 bookings and 450 blocks in 2099, runs the benchmark against the same
+# database and removes the fixture again. Compare the "projection" and
+# "entities" rows per view: avgt is milliseconds per call,
+# gc.alloc.rate.norm bytes per call.
+#
+# The database must already be migrated (start the app once). psql uses
+# PGHOST/PGUSER/PGDATABASE/...; the app uses SPRING_DATASOURCE_URL/USERNAME/
+# PASSWORD, or the dev profile defaults when those are not set.
+#
+# Usage: run.sh [extra JMH options, e.g. -p view=year]
+set -euo pipefail
+
+DIR="$(cd "$(dirname "$0")" && pwd)"
+
+psql -v ON_ERROR_STOP=1 -q -f "$DIR/cleanup.sql"
+psql -v ON_ERROR_STOP=1 -q -f "$DIR/setup.sql"
+trap 'psql -v ON_ERROR_STOP=1 -q -f "$DIR/cleanup.sql"' EXIT
+
+cd "$DIR/../../../backend"
+mvn -B -q -Pbench test-compile exec:exec -Dbench.include=CalendarViewBenchmark -Dbench.args="$*"
@@ -0,0 +1,32 @@
+-- Benchmark fixture: a busy agenda from 2099-01-01 to 2100-03-31, so a month
+-- and a full year starting 2099-03-01 are covered. Every day has 16 bookings
+-- of 30 minutes from 09:00 (every 8th one cancelled) and a one-hour block at
+-- 17:00. Written in 2099 so it never touches real agenda data.
+INSERT INTO services (name, slug, description, duration_minutes, price, is_active)
+VALUES ('Benchmark service', 'bench-service', 'calendar view fixture', 30, 1000, FALSE)
+ON CONFLICT (slug) DO NOTHING;
+
+INSERT INTO bookings (booking_number, service_id, customer_name, customer_email, customer_whatsapp,
+                      booking_date, booking_time, start_at, duration_minutes, status, payment_status, amount)
+SELECT 'BENCH-CAL-' || to_char(d, 'YYYYMMDD') || '-' || s,
+       (SELECT id FROM services WHERE slug = 'bench-service'),
+       'Bench customer ' || s, 'bench@example.com', '0',
+       d::date,
+       TIME '09:00' + s * INTERVAL '30 minutes',
+       (d + TIME '09:00' + s * INTERVAL '30 minutes') AT TIME ZONE 'America/Argentina/Buenos_Aires',
+       30,
+       CASE WHEN s % 8 = 7 THEN 'CANCELLED' ELSE 'CONFIRMED' END,
+       CASE WHEN s % 8 = 7 THEN 'PENDING' ELSE 'PAID' END,
+       1000
+FROM generate_series(DATE '2099-01-01', DATE '2100-03-31', INTERVAL '1 day') AS d,
+     generate_series(0, 15) AS s;
+
+INSERT INTO blocks (block_number, reason, start_at, end_at)
+SELECT 'BENCH-CAL-BLK-' || to_char(d, 'YYYYMMDD'),
+       'Benchmark block',
+       (d + TIME '17:00') AT TIME ZONE 'America/Argentina/Buenos_Aires',
+       (d + TIME '18:00') AT TIME ZONE 'America/Argentina/Buenos_Aires'
+FROM generate_series(DATE '2099-01-01', DATE '2100-03-31', INTERVAL '1 day') AS d;
+
+ANALYZE bookings;
+ANALYZE blocks;